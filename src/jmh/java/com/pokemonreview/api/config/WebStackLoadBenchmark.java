@@ -0,0 +1,134 @@
+package com.pokemonreview.api.config;
+
+import com.pokemonreview.api.ApiApplication;
+import com.pokemonreview.api.dto.ReviewImportDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.models.UserEntity;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.UserRepository;
+import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.service.ReviewImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * Request latency under high concurrency against a running server backed by H2, on three stacks:
+ * - platform: Spring MVC on Tomcat with its default pool of 200 platform threads
+ * - virtual: Spring MVC on Tomcat with a virtual thread per request (VirtualThreadConfig)
+ * - reactive: the WebFlux and R2DBC variant on Netty (the "reactive" profile)
+ * 400 client threads hit one endpoint at a time:
+ * - pokemon: a keyset page of pokemon (not served by the DTO caches)
+ * - reviews: a keyset page of the reviews of a pokemon
+ * The stacks get the same number of database connections (Hikari or the R2DBC pool), a small pool shows how each
+ * stack queues requests once the connections are the bottleneck. The sample mode reports the latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(400)
+@Fork(1)
+public class WebStackLoadBenchmark {
+
+    @Param({"platform", "virtual", "reactive"})
+    private String stack;
+
+    @Param({"10", "50"})
+    private int poolSize;
+
+    @Param({"pokemon", "reviews"})
+    private String endpoint;
+
+    private ConfigurableApplicationContext context;
+    private JWTGenerator jwtGenerator;
+    private HttpClient httpClient;
+    private URI uri;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("reactive".equals(stack) ? "reactive" : "default")
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "spring.r2dbc.pool.max-size=" + poolSize,
+                        "spring.threads.virtual.enabled=" + "virtual".equals(stack))
+                .run();
+        jwtGenerator = context.getBean(JWTGenerator.class);
+
+        Role role = new Role();
+        role.setName("USER");
+        UserEntity user = new UserEntity();
+        user.setUsername("ash");
+        user.setPassword("password");
+        user.setRoles(Collections.singletonList(role));
+        context.getBean(UserRepository.class).save(user); // the role is persisted through the cascade
+
+        List<Pokemon> pokemons = context.getBean(PokemonRepository.class).saveAll(IntStream.range(0, 1000)
+                .mapToObj(i -> Pokemon.builder().name("pokemon " + i).type("type " + i % 10).build())
+                .collect(Collectors.toList()));
+        int pokemonId = pokemons.get(0).getId();
+        context.getBean(ReviewImportService.class).importReviews(IntStream.range(0, 1000)
+                .mapToObj(i -> ReviewImportDto.builder().pokemonId(pokemonId).title("title " + i)
+                        .content("content of review " + i).stars(i % 5 + 1).build())
+                .iterator());
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String path = "pokemon".equals(endpoint)
+                ? "/api/pokemon?cursor=&pageSize=20"
+                : "/api/pokemon/" + pokemonId + "/reviews/page?cursor=&pageSize=20";
+        uri = URI.create("http://localhost:" + port + path);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    // the tokens expire after SecurityConstants.JWT_EXPIRATION, so a fresh one is issued for every iteration
+    @Setup(Level.Iteration)
+    public void issueToken() {
+        token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public int request() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).GET().build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,97 @@
+package com.pokemonreview.api.security;
+
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.models.UserEntity;
+import com.pokemonreview.api.repository.UserRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Latency and allocation of JWTAuthenticationFilter.doFilterInternal with mock requests and an in-memory user,
+ * for a valid token, a tampered token and a request without any token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JWTAuthenticationFilterBenchmark {
+
+    @Param({"valid", "invalid", "none"})
+    private String tokenKind;
+
+    private JWTAuthenticationFilter filter;
+    private JWTGenerator jwtGenerator;
+    private String authorizationHeader;
+
+    @Setup(Level.Trial)
+    public void init() {
+        Role role = new Role();
+        role.setName("USER");
+        UserEntity user = new UserEntity();
+        user.setUsername("ash");
+        user.setPassword("password");
+        user.setRoles(Collections.singletonList(role));
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByUsername("ash")).thenReturn(Optional.of(user));
+
+        JWTKeyRing keyRing = JWTKeyRing.generated();
+        jwtGenerator = new JWTGenerator(keyRing);
+        filter = new JWTAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenCache", new JWTTokenCache(jwtGenerator, keyRing));
+        ReflectionTestUtils.setField(filter, "userDetailsCache", new UserDetailsCache(new CustomUserDetailsService(userRepository)));
+    }
+
+    // the tokens expire after SecurityConstants.JWT_EXPIRATION, so a fresh one is issued for every iteration
+    @Setup(Level.Iteration)
+    public void issueToken() {
+        String token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+        switch (tokenKind) {
+            case "valid":
+                authorizationHeader = "Bearer " + token;
+                break;
+            case "invalid":
+                authorizationHeader = "Bearer " + token.substring(0, token.length() - 2) + "xx";
+                break;
+            default:
+                authorizationHeader = null;
+        }
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pokemon");
+        if (authorizationHeader != null) {
+            request.addHeader("Authorization", authorizationHeader);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pokemonreview.api.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Latency and allocation of issuing and verifying tokens with the JWTGenerator, per signing algorithm.
+ * RS256 and ES256 sign with a key pair written to a temporary key directory, like a JWTKeyRing of a fleet node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JWTGeneratorBenchmark {
+
+    @Param({"HS512", "RS256", "ES256"})
+    private String algorithm;
+
+    private JWTGenerator jwtGenerator;
+    private Authentication authentication;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void init() throws Exception {
+        if ("HS512".equals(algorithm)) {
+            jwtGenerator = new JWTGenerator(JWTKeyRing.generated());
+        } else {
+            Path keyDirectory = Files.createTempDirectory("jwt-keys");
+            KeyPair keyPair = keyPair();
+            Files.writeString(keyDirectory.resolve("k1" + JWTKeyRing.PUBLIC_KEY_SUFFIX), pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+            Files.writeString(keyDirectory.resolve("k1" + JWTKeyRing.PRIVATE_KEY_SUFFIX), pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+            jwtGenerator = new JWTGenerator(new JWTKeyRing(algorithm, keyDirectory.toString(), ""));
+        }
+        authentication = new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+    }
+
+    // the tokens expire after SecurityConstants.JWT_EXPIRATION, so a fresh one is issued for every iteration
+    @Setup(Level.Iteration)
+    public void issueToken() {
+        token = jwtGenerator.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtGenerator.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtGenerator.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJWT() {
+        return jwtGenerator.getUsernameFromJWT(token);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return jwtGenerator.parse(token);
+    }
+
+    private KeyPair keyPair() throws Exception {
+        if ("ES256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        }
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static String pem(String type, byte[] encoded) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(encoded) + "\n-----END " + type + "-----\n";
+    }
+}
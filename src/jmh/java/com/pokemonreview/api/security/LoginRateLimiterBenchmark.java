@@ -0,0 +1,66 @@
+package com.pokemonreview.api.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Throughput of the LoginRateLimiter with 16 threads, run with the gc profiler to check that the hot path does
+ * not allocate:
+ * - oneKey: every thread logs in as the same user from the same IP, all CAS loops contend on two buckets
+ * - manyKeys: 10k users behind 1k IPs, the buckets already exist after the warmup
+ * Most logins are rejected, the rejections take the same path as the allowed logins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class LoginRateLimiterBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int IPS = 1_000;
+
+    @Param({"oneKey", "manyKeys"})
+    private String keys;
+
+    private LoginRateLimiter loginRateLimiter;
+    private String[] usernames;
+    private String[] clientIps;
+
+    @Setup(Level.Trial)
+    public void init() {
+        loginRateLimiter = new LoginRateLimiter(5, 12000, 20, 3000, 100_000);
+        int users = "oneKey".equals(keys) ? 1 : USERS;
+        int ips = "oneKey".equals(keys) ? 1 : IPS;
+        usernames = new String[users];
+        for (int i = 0; i < users; i++) {
+            usernames[i] = "user" + i;
+        }
+        clientIps = new String[ips];
+        for (int i = 0; i < ips; i++) {
+            clientIps[i] = "10.0." + i / 256 + "." + i % 256;
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return loginRateLimiter.tryAcquire(usernames[random.nextInt(usernames.length)], clientIps[random.nextInt(clientIps.length)]);
+    }
+}
@@ -0,0 +1,136 @@
+package com.pokemonreview.api.security;
+
+import com.pokemonreview.api.ApiApplication;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.models.UserEntity;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A login storm against a running server: 200 client threads log in while 8 others read a pokemon page, both in
+ * one JMH group so the report shows the login throughput next to the latency of the unrelated reads.
+ * The logins are verified on the PasswordHashingExecutor, with a pool of 2 threads or one per core, at the
+ * default bcrypt strength and at 12. A login rejected with 503 by the full hashing queue counts as an operation
+ * as well, the number of rejections is printed after every iteration.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    private static final String LOGIN_BODY = "{\"username\":\"ash\",\"password\":\"password\"}";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    @Param({"2", "0"})
+    private int hashingThreads;
+
+    private ConfigurableApplicationContext context;
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private JWTGenerator jwtGenerator;
+    private HttpClient httpClient;
+    private URI loginUri;
+    private URI pokemonUri;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "security.password.bcrypt-strength=" + strength,
+                        "security.password.hashing.threads=" + hashingThreads)
+                .run();
+        passwordHashingExecutor = context.getBean(PasswordHashingExecutor.class);
+        jwtGenerator = context.getBean(JWTGenerator.class);
+
+        Role role = new Role();
+        role.setName("USER");
+        UserEntity user = new UserEntity();
+        user.setUsername("ash");
+        user.setPassword(context.getBean(PasswordEncoder.class).encode("password"));
+        user.setRoles(Collections.singletonList(role));
+        context.getBean(UserRepository.class).save(user); // the role is persisted through the cascade
+        context.getBean(PokemonRepository.class).save(Pokemon.builder().name("pikachu").type("electric").build());
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        loginUri = URI.create("http://localhost:" + port + "/api/auth/login");
+        pokemonUri = URI.create("http://localhost:" + port + "/api/pokemon?cursor=&pageSize=20");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    // the tokens expire after SecurityConstants.JWT_EXPIRATION, so a fresh one is issued for every iteration
+    @Setup(Level.Iteration)
+    public void issueToken() {
+        token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRejections() {
+        System.out.println("rejected logins so far: " + passwordHashingExecutor.getRejectedCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(200)
+    public int login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(loginUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+        return expect(httpClient.send(request, HttpResponse.BodyHandlers.discarding()), 200, 503);
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(8)
+    public int readPokemon() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(pokemonUri).header("Authorization", "Bearer " + token).GET().build();
+        return expect(httpClient.send(request, HttpResponse.BodyHandlers.discarding()), 200, 200);
+    }
+
+    private static int expect(HttpResponse<Void> response, int status, int alternativeStatus) {
+        if (response.statusCode() != status && response.statusCode() != alternativeStatus) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
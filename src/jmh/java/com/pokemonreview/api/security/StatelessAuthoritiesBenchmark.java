@@ -0,0 +1,103 @@
+package com.pokemonreview.api.security;
+
+import com.pokemonreview.api.ApiApplication;
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.models.UserEntity;
+import com.pokemonreview.api.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-request latency of the JWTAuthenticationFilter against a real application context backed by H2:
+ * - database: the UserDetailsCache is emptied before every request, so the user and its roles are queried each time
+ * - cached: the UserDetails are served from the UserDetailsCache
+ * - stateless: security.jwt.stateless-authorities is enabled and the authorities come from the token
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StatelessAuthoritiesBenchmark {
+
+    @Param({"database", "cached", "stateless"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private JWTAuthenticationFilter filter;
+    private JWTGenerator jwtGenerator;
+    private UserDetailsCache userDetailsCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "security.jwt.stateless-authorities=" + "stateless".equals(mode))
+                .run();
+        filter = context.getBean(JWTAuthenticationFilter.class);
+        jwtGenerator = context.getBean(JWTGenerator.class);
+        userDetailsCache = context.getBean(UserDetailsCache.class);
+
+        Role role = new Role();
+        role.setName("USER");
+        UserEntity user = new UserEntity();
+        user.setUsername("ash");
+        user.setPassword("password");
+        user.setRoles(Collections.singletonList(role));
+        context.getBean(UserRepository.class).save(user); // the role is persisted through the cascade
+    }
+
+    // the tokens expire after SecurityConstants.JWT_EXPIRATION, so a fresh one is issued for every iteration
+    @Setup(Level.Iteration)
+    public void issueToken() {
+        token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+    }
+
+    @Setup(Level.Invocation)
+    public void evictUserDetails() {
+        if ("database".equals(mode)) {
+            userDetailsCache.evictAll();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pokemon");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
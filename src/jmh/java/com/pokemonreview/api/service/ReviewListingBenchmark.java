@@ -0,0 +1,122 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.ApiApplication;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewImportDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * Latency of listing the reviews of a pokemon with 200k reviews, run with the gc profiler to compare the
+ * allocation per listing (gc.alloc.rate.norm):
+ * - unbounded: every review of the pokemon, as the review list endpoint did before it was capped
+ * - capped: the review list endpoint, limited to ReviewServiceImpl.MAX_LIST_SIZE reviews
+ * - page / deepPage: the first and the last offset page of 100 reviews
+ * - keyset / deepKeyset: the first and the last keyset page of 100 reviews
+ * The second-level and query caches are emptied before every listing so that each one reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReviewListingBenchmark {
+
+    private static final int REVIEWS = 200_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"unbounded", "capped", "page", "deepPage", "keyset", "deepKeyset"})
+    private String listing;
+
+    private ConfigurableApplicationContext context;
+    private ReviewService reviewService;
+    private ReviewRepository reviewRepository;
+    private SessionFactory sessionFactory;
+    private int pokemonId;
+    private int lastPageNo;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .run();
+        reviewService = context.getBean(ReviewService.class);
+        reviewRepository = context.getBean(ReviewRepository.class);
+        sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+
+        pokemonId = context.getBean(PokemonRepository.class)
+                .save(Pokemon.builder().name("pikachu").type("electric").build()).getId();
+        context.getBean(ReviewImportService.class).importReviews(IntStream.range(0, REVIEWS)
+                .mapToObj(i -> ReviewImportDto.builder().pokemonId(pokemonId).title("title " + i)
+                        .content("content of review " + i).stars(i % 5 + 1).build())
+                .iterator());
+
+        lastPageNo = REVIEWS / PAGE_SIZE - 1;
+        // the keyset cursor of ReviewServiceImpl is the url-safe Base64 of "stars:id", only the id is used for ReviewSort.ID
+        int lastPageStart = reviewRepository.findDtoPageByPokemonId(pokemonId,
+                PageRequest.of(lastPageNo, PAGE_SIZE, Sort.by("id"))).getContent().get(0).getId();
+        deepCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("0:" + (lastPageStart - 1)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Setup(Level.Invocation)
+    public void evictCaches() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object listReviews() {
+        switch (listing) {
+            case "unbounded":
+                return reviewRepository.findByPokemonId(pokemonId).stream()
+                        .map(review -> ReviewDto.builder().id(review.getId()).title(review.getTitle())
+                                .content(review.getContent()).stars(review.getStars()).build())
+                        .collect(Collectors.toList());
+            case "capped":
+                return reviewService.getReviewsByPokemonId(pokemonId);
+            case "page":
+                return reviewService.getReviewsByPokemonId(pokemonId, 0, PAGE_SIZE, ReviewSort.ID);
+            case "deepPage":
+                return reviewService.getReviewsByPokemonId(pokemonId, lastPageNo, PAGE_SIZE, ReviewSort.ID);
+            case "keyset":
+                return reviewService.getReviewsByPokemonIdAfter(pokemonId, "", PAGE_SIZE, ReviewSort.ID);
+            case "deepKeyset":
+                return reviewService.getReviewsByPokemonIdAfter(pokemonId, deepCursor, PAGE_SIZE, ReviewSort.ID);
+            default:
+                throw new IllegalStateException("Unknown listing " + listing);
+        }
+    }
+}
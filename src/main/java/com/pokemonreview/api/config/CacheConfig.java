@@ -0,0 +1,77 @@
+package com.pokemonreview.api.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String POKEMON_CACHE = "pokemon";
+    public static final String POKEMON_PAGES_CACHE = "pokemonPages";
+
+    /*
+     * Hibernate second-level and query cache for the Pokemon, Review and Role entities, backed by Ehcache
+     * through JCache. The regions and their bounds are defined in ehcache.xml, a region that is missing there
+     * makes the startup fail instead of silently creating an unbounded cache.
+     *
+     * Every application context gets its own CacheManager, so two contexts (e.g. in tests) never share
+     * cached entities of different databases.
+     *
+     * The entity regions serve the reads by id that load entities, e.g. the pokemon looked up by the review
+     * writes. The DTO reads bypass them: the capped review list of a pokemon is served by the query cache
+     * (ReviewRepository.findDtosByPokemonId), getPokemonById by the Caffeine POKEMON_CACHE below.
+     */
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        XmlConfiguration configuration = new XmlConfiguration(getClass().getResource("/ehcache.xml"));
+        return cachingProvider.getCacheManager(URI.create("urn:pokemon-review:hibernate:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put("hibernate.cache.use_second_level_cache", "true");
+            hibernateProperties.put("hibernate.cache.use_query_cache", "true");
+            hibernateProperties.put("hibernate.cache.region.factory_class", "jcache");
+            hibernateProperties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            hibernateProperties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+
+    /*
+     * Cache of the already mapped PokemonDto and PokemonResponse objects returned by the PokemonService.
+     * A miss selects the DTO from the database without going through the Pokemon entity region.
+     * Caffeine bounds it with W-TinyLFU eviction, the bound and expiry come from pokemon.cache.spec.
+     * The cache names are fixed up front so that their hit/miss statistics are registered as actuator metrics.
+     *
+     * The caches hold snapshots of the DTOs (see SnapshotCaffeineCache), and inside a transaction their puts
+     * and evictions only happen once it has committed, so a rolled back write never leaves its values behind.
+     */
+    @Bean
+    public org.springframework.cache.CacheManager cacheManager(@Value("${pokemon.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String cacheSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(POKEMON_CACHE, POKEMON_PAGES_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new SnapshotCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCacheSpecification(cacheSpec);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
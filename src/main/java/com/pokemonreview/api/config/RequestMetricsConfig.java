@@ -0,0 +1,49 @@
+package com.pokemonreview.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ * Per request SQL statement counts of the API endpoints. The latency histograms are the http.server.requests
+ * timers of Spring Boot, their percentiles are configured in application.properties.
+ *
+ * The interceptor is only registered when a MeterRegistry exists, the @WebMvcTest slices pick up this class as
+ * a WebMvcConfigurer but do not configure the actuator metrics.
+ */
+@Configuration
+@Profile("!reactive") // the R2DBC queries of the reactive profile do not go through Hibernate
+public class RequestMetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowRequestThreshold;
+
+    public RequestMetricsConfig(ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${api.slow-request-threshold:500}") long slowRequestThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThreshold = slowRequestThreshold;
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return hibernateProperties -> hibernateProperties.put("hibernate.session_factory.statement_inspector", sqlStatementCounter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(meters -> registry
+                .addInterceptor(new RequestMetricsInterceptor(sqlStatementCounter(), meters, slowRequestThreshold))
+                .addPathPatterns("/api/**"));
+    }
+}
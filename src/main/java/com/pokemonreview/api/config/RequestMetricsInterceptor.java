@@ -0,0 +1,94 @@
+package com.pokemonreview.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Records the number of SQL statements every API request runs as the http.server.requests.statements summary,
+ * tagged with the same method and uri as the http.server.requests timer of Spring Boot, so an N+1 regression
+ * shows up as a jump of the statement count of one endpoint.
+ *
+ * Requests that take longer than api.slow-request-threshold milliseconds are logged with their statement count.
+ *
+ * Async requests (the NDJSON export, the login and the register) are recorded when their async dispatch completes:
+ * the start time and the counter are kept on the request while the handler releases the request thread, and the
+ * statements of the tasks the request handed to the application task executor or the password hashing pool count
+ * as well, see SqlStatementCounter.
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENTS_METRIC = "http.server.requests.statements";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".START";
+    private static final String COUNTER_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".COUNTER";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestThresholdNanos;
+
+    public RequestMetricsInterceptor(SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry, long slowRequestThreshold) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestThreshold);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            request.setAttribute(COUNTER_ATTRIBUTE, sqlStatementCounter.start());
+        } else if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            LongAdder counter = (LongAdder) request.getAttribute(COUNTER_ATTRIBUTE);
+            if (counter != null) {
+                sqlStatementCounter.resume(counter);
+            }
+        }
+        return true;
+    }
+
+    // the request thread is released, the request is recorded once its async dispatch completes
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        LongAdder counter = (LongAdder) request.getAttribute(COUNTER_ATTRIBUTE);
+        request.removeAttribute(START_ATTRIBUTE);
+        request.removeAttribute(COUNTER_ATTRIBUTE);
+        sqlStatementCounter.stop();
+        long statements = counter == null ? 0 : counter.sum();
+        long duration = System.nanoTime() - start;
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .baseUnit("statements")
+                .description("Number of SQL statements run by a request")
+                .register(meterRegistry)
+                .record(statements);
+
+        if (duration >= slowRequestThresholdNanos) {
+            logger.warn("Slow request {} {} ({}) took {} ms and ran {} SQL statements", request.getMethod(),
+                    request.getRequestURI(), uri, TimeUnit.NANOSECONDS.toMillis(duration), statements);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.pokemonreview.api.config;
+
+import com.pokemonreview.api.models.Review;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * Review ids come from review_seq since the review import (they were IDENTITY values before). On a database
+ * that already holds reviews, ddl-auto=update creates the sequence starting at 1 and Hibernate would hand out
+ * ids that exist. Before anything is written the sequence is moved past the greatest review id, so that the
+ * first block the pooled optimizer reserves, (v - allocationSize, v], starts after it.
+ *
+ * The sequence state is read the way the database exposes it, H2 and PostgreSQL are supported. On any other
+ * database nothing is changed and a warning is logged, the same step has to be part of its migration:
+ * restart review_seq with (select max(id) from review) + 50.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ReviewSequenceInitializer implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewSequenceInitializer.class);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReviewSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        seedPastExistingIds();
+    }
+
+    // returns the value the sequence was restarted with, or 0 when it is already past the existing ids
+    public long seedPastExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from review", Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+        long restartValue = maxId + Review.ID_ALLOCATION_SIZE;
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        switch (database) {
+            case "H2":
+                return restartH2(restartValue, maxId);
+            case "PostgreSQL":
+                return restartPostgres(restartValue, maxId);
+            default:
+                logger.warn("Cannot check review_seq on {}, it has to be past the review id {} before reviews are inserted",
+                        database, maxId);
+                return 0;
+        }
+    }
+
+    private long restartH2(long restartValue, long maxId) {
+        List<Long> nextValue = jdbcTemplate.queryForList(
+                "select base_value from information_schema.sequences where sequence_name = 'REVIEW_SEQ'", Long.class);
+        if (!nextValue.isEmpty() && nextValue.get(0) >= restartValue) {
+            return 0;
+        }
+        // a literal, H2 does not take parameters in DDL
+        jdbcTemplate.execute("alter sequence review_seq restart with " + restartValue);
+        return restarted(restartValue, maxId);
+    }
+
+    // last_value is the value nextval returned last, or the one it returns next while is_called is false
+    private long restartPostgres(long restartValue, long maxId) {
+        long nextValue = jdbcTemplate.queryForObject(
+                "select case when is_called then last_value + " + Review.ID_ALLOCATION_SIZE + " else last_value end from review_seq",
+                Long.class);
+        if (nextValue >= restartValue) {
+            return 0;
+        }
+        jdbcTemplate.queryForObject("select setval('review_seq', ?, false)", Long.class, restartValue);
+        return restarted(restartValue, maxId);
+    }
+
+    private long restarted(long restartValue, long maxId) {
+        logger.info("Restarted review_seq with {} past the existing review id {}", restartValue, maxId);
+        return restartValue;
+    }
+}
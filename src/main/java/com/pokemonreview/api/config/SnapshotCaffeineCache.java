@@ -0,0 +1,65 @@
+package com.pokemonreview.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonResponse;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class SnapshotCaffeineCache extends CaffeineCache {
+
+    /*
+     * The cached DTOs are mutable Lombok beans. The cache keeps a private snapshot of every value it is given
+     * and hands out a fresh copy on every hit, so neither the method that produced a value nor any caller that
+     * received one can change what the next caller gets. Values of other types are stored as they are.
+     */
+
+    SnapshotCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        if (userValue instanceof PokemonResponse) {
+            PokemonResponse snapshot = copy((PokemonResponse) userValue);
+            snapshot.setContent(snapshot.getContent() == null ? null : Collections.unmodifiableList(snapshot.getContent()));
+            return super.toStoreValue(snapshot);
+        }
+        return super.toStoreValue(copy(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return copy(super.fromStoreValue(storeValue));
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof PokemonDto) {
+            return copy((PokemonDto) value);
+        }
+        if (value instanceof PokemonResponse) {
+            return copy((PokemonResponse) value);
+        }
+        return value;
+    }
+
+    private static PokemonDto copy(PokemonDto pokemonDto) {
+        return new PokemonDto(pokemonDto.getId(), pokemonDto.getName(), pokemonDto.getType());
+    }
+
+    private static PokemonResponse copy(PokemonResponse pokemonResponse) {
+        List<PokemonDto> content = null;
+        if (pokemonResponse.getContent() != null) {
+            content = new ArrayList<>(pokemonResponse.getContent().size());
+            for (PokemonDto pokemonDto : pokemonResponse.getContent()) {
+                content.add(copy(pokemonDto));
+            }
+        }
+        return new PokemonResponse(content, pokemonResponse.getPageNo(), pokemonResponse.getPageSize(),
+                pokemonResponse.getTotalElements(), pokemonResponse.getTotalPages(), pokemonResponse.isLast(),
+                pokemonResponse.getNextCursor());
+    }
+}
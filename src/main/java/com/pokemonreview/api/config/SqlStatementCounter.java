@@ -0,0 +1,70 @@
+package com.pokemonreview.api.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Hibernate StatementInspector that counts the SQL statements of a request between start() and stop(). Hibernate
+ * calls it once for every statement it prepares, so a JDBC batch counts once and an entity or query served by the
+ * second-level cache does not count at all, which is what the database actually sees.
+ *
+ * The counter follows the work a request hands to another thread: as a TaskDecorator of the application task
+ * executor (Spring MVC async, the NDJSON export, the login and register completions) and of the password hashing
+ * pool, a task counts for the request that submitted it. A background job that outlives its request (the review
+ * delete jobs) keeps counting into a counter nobody reads any more.
+ */
+public class SqlStatementCounter implements StatementInspector, TaskDecorator {
+
+    private final ThreadLocal<LongAdder> count = new ThreadLocal<>();
+
+    // starts counting on this thread, the returned counter can be resumed on another thread
+    public LongAdder start() {
+        LongAdder counter = new LongAdder();
+        count.set(counter);
+        return counter;
+    }
+
+    public void resume(LongAdder counter) {
+        count.set(counter);
+    }
+
+    // returns the statements counted since start() and stops counting on this thread
+    public long stop() {
+        LongAdder current = count.get();
+        count.remove();
+        return current == null ? 0 : current.sum();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        LongAdder current = count.get();
+        if (current != null) {
+            current.increment();
+        }
+        return sql;
+    }
+
+    // called on the submitting thread, the task counts into the counter of that thread
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        LongAdder counter = count.get();
+        if (counter == null) {
+            return runnable;
+        }
+        return () -> {
+            LongAdder previous = count.get();
+            count.set(counter);
+            try {
+                runnable.run();
+            } finally {
+                if (previous == null) {
+                    count.remove();
+                } else {
+                    count.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.pokemonreview.api.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/*
+ * Opt-in virtual thread mode, enabled with spring.threads.virtual.enabled=true (the "virtual" profile sets it).
+ * Tomcat hands every request to a new virtual thread instead of its pool of 200 platform threads, so the
+ * blocking JPA/JDBC calls of the services park the virtual thread instead of holding a platform thread.
+ * The async parts of Spring MVC (the NDJSON export) run on virtual threads as well.
+ *
+ * With the thread pool gone the database connection pool is what bounds the concurrent database work,
+ * requests beyond spring.datasource.hikari.maximum-pool-size wait in Hikari for a connection.
+ *
+ * The property has the name Spring Boot 3.2 uses for the same switch, so the mode keeps working once the
+ * application moves to that baseline and this class can be removed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tomcat-handler-", 0).factory()));
+    }
+
+    // replaces the ThreadPoolTaskExecutor that Spring Boot would create for Spring MVC async requests
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ObjectProvider<TaskDecorator> taskDecorator) {
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-", 0).factory()));
+        taskDecorator.ifUnique(executor::setTaskDecorator); // like the executor of Spring Boot, see SqlStatementCounter
+        return executor;
+    }
+}
@@ -2,27 +2,38 @@ package com.pokemonreview.api.controllers;
 
 import com.pokemonreview.api.dto.AuthResponseDTO;
 import com.pokemonreview.api.dto.LoginDto;
+import com.pokemonreview.api.dto.RefreshTokenDto;
 import com.pokemonreview.api.dto.RegisterDto;
+import com.pokemonreview.api.exceptions.LoginRateLimitedException;
 import com.pokemonreview.api.models.Role;
 import com.pokemonreview.api.models.UserEntity;
 import com.pokemonreview.api.repository.RoleRepository;
 import com.pokemonreview.api.repository.UserRepository;
 import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.security.LoginRateLimiter;
+import com.pokemonreview.api.security.PasswordHashingExecutor;
+import com.pokemonreview.api.security.UserDetailsCache;
+import com.pokemonreview.api.service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
+@Profile("!reactive") // the reactive profile serves the API from com.pokemonreview.api.reactive
 @RequestMapping("/api/auth")
 public class AuthController {
 
@@ -31,46 +42,79 @@ public class AuthController {
     private RoleRepository roleRepository;
     private PasswordEncoder passwordEncoder;
     private JWTGenerator jwtGenerator;
+    private UserDetailsCache userDetailsCache;
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private LoginRateLimiter loginRateLimiter;
+    private RefreshTokenService refreshTokenService;
+    private TaskExecutor taskExecutor; // runs the database work that follows the hashing, off the hashing pool
 
 
     public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository,
-                          RoleRepository roleRepository, PasswordEncoder passwordEncoder, JWTGenerator jwtGenerator) {
+                          RoleRepository roleRepository, PasswordEncoder passwordEncoder, JWTGenerator jwtGenerator,
+                          UserDetailsCache userDetailsCache, PasswordHashingExecutor passwordHashingExecutor,
+                          LoginRateLimiter loginRateLimiter, RefreshTokenService refreshTokenService,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtGenerator = jwtGenerator;
+        this.userDetailsCache = userDetailsCache;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginRateLimiter = loginRateLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.taskExecutor = taskExecutor;
     }
 
     @PostMapping("login")
-    public ResponseEntity<AuthResponseDTO> login(@RequestBody LoginDto loginDto){
+    public CompletableFuture<ResponseEntity<AuthResponseDTO>> login(@RequestBody LoginDto loginDto, HttpServletRequest request){
+        // throttled per username and client IP before any password is checked
+        long retryAfter = loginRateLimiter.tryAcquire(loginDto.getUsername(), request.getRemoteAddr());
+        if (retryAfter > 0) {
+            throw new LoginRateLimitedException("Too many login attempts, try again later", retryAfter);
+        }
+
         /*
-         * Authenticate the user using the authentication manager and set the authentication in the security context.
-         * Generate a JWT token using the JWT generator and return it in the response.
+         * Authenticate the user using the authentication manager and generate a JWT token using the JWT generator,
+         * along with the refresh token that renews it through /refresh without another login.
+         * The authentication checks the password with bcrypt, so it runs on the PasswordHashingExecutor and the
+         * request thread is released until the token is ready. The insert of the refresh token follows on the
+         * application task executor, so the bcrypt threads do not wait for it. Nothing is put in the SecurityContext,
+         * the sessions are stateless and the context of the request thread ends with this method.
          */
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                loginDto.getUsername(),
-                loginDto.getPassword()));
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtGenerator.generateToken(authentication);
-        return new ResponseEntity<>(new AuthResponseDTO(token), HttpStatus.OK);
+        return passwordHashingExecutor.submit(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                        loginDto.getUsername(),
+                        loginDto.getPassword())))
+                .thenApplyAsync(authentication -> new ResponseEntity<>(new AuthResponseDTO(jwtGenerator.generateToken(authentication),
+                        refreshTokenService.createRefreshToken(authentication.getName())), HttpStatus.OK), taskExecutor);
+    }
+
+    // trades a refresh token for a new access token and a new refresh token, the used one is no longer valid
+    @PostMapping("refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@RequestBody RefreshTokenDto refreshTokenDto) {
+        return new ResponseEntity<>(refreshTokenService.refresh(refreshTokenDto.getRefreshToken()), HttpStatus.OK);
     }
 
     @PostMapping("register")
-    public ResponseEntity<String> register(@RequestBody RegisterDto registerDto) {
+    public CompletableFuture<ResponseEntity<String>> register(@RequestBody RegisterDto registerDto) {
         if (userRepository.existsByUsername(registerDto.getUsername())) {
-            return new ResponseEntity<>("Username is taken!", HttpStatus.BAD_REQUEST);
+            return CompletableFuture.completedFuture(new ResponseEntity<>("Username is taken!", HttpStatus.BAD_REQUEST));
         }
 
-        UserEntity user = new UserEntity();
-        user.setUsername(registerDto.getUsername());
-        user.setPassword(passwordEncoder.encode((registerDto.getPassword()))); // Bcrypt passwordencoder defined in the security config 
-        Role roles = roleRepository.findByName("USER").get();
-        user.setRoles(Collections.singletonList(roles));
+        // the hash is computed on the PasswordHashingExecutor, the insert follows on the application task executor
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(registerDto.getPassword())) // Bcrypt passwordencoder defined in the security config
+                .thenApplyAsync(encodedPassword -> {
+                    UserEntity user = new UserEntity();
+                    user.setUsername(registerDto.getUsername());
+                    user.setPassword(encodedPassword);
+                    Role roles = roleRepository.findByName("USER").get();
+                    user.setRoles(Collections.singletonList(roles));
 
-        userRepository.save(user);
+                    userRepository.save(user);
+                    userDetailsCache.evict(user.getUsername()); // drop anything cached for this username before the first login
 
-        return new ResponseEntity<>("User registered success!", HttpStatus.OK);
+                    return new ResponseEntity<>("User registered success!", HttpStatus.OK);
+                }, taskExecutor);
     }
 }
@@ -2,37 +2,91 @@ package com.pokemonreview.api.controllers;
 
 
 import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonRankDto;
+import com.pokemonreview.api.dto.PokemonRatingDto;
 import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.dto.ReviewDeleteJobDto;
+import com.pokemonreview.api.service.CountMode;
+import com.pokemonreview.api.service.PokemonExportService;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import com.pokemonreview.api.service.PokemonRatingService;
 import com.pokemonreview.api.service.PokemonService;
+import com.pokemonreview.api.service.ReviewDeleteService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 
 @RestController
+@Profile("!reactive") // the reactive profile serves the API from com.pokemonreview.api.reactive
 @RequestMapping("/api/")
 public class PokemonController {
 
     private PokemonService pokemonService;
+    private PokemonExportService pokemonExportService;
+    private PokemonRatingService pokemonRatingService;
+    private PokemonLeaderboardService pokemonLeaderboardService;
+    private ReviewDeleteService reviewDeleteService;
 
-    public PokemonController(PokemonService pokemonService) {
+    public PokemonController(PokemonService pokemonService, PokemonExportService pokemonExportService,
+                             PokemonRatingService pokemonRatingService, PokemonLeaderboardService pokemonLeaderboardService,
+                             ReviewDeleteService reviewDeleteService) {
         this.pokemonService = pokemonService;
+        this.pokemonExportService = pokemonExportService;
+        this.pokemonRatingService = pokemonRatingService;
+        this.pokemonLeaderboardService = pokemonLeaderboardService;
+        this.reviewDeleteService = reviewDeleteService;
     }
 
     @GetMapping("pokemon")
     public ResponseEntity<PokemonResponse> getPokemons(
             @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
-            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "EXACT", required = false) CountMode countMode
     ) {
+        // keyset mode: an empty cursor starts at the beginning, the following pages pass the nextCursor of the response
+        if (cursor != null) {
+            return new ResponseEntity<>(pokemonService.getAllPokemonAfter(cursor, pageSize), HttpStatus.OK);
+        }
+        if (countMode != CountMode.EXACT) {
+            return new ResponseEntity<>(pokemonService.getAllPokemon(pageNo, pageSize, countMode), HttpStatus.OK);
+        }
         return new ResponseEntity<>(pokemonService.getAllPokemon(pageNo, pageSize), HttpStatus.OK);
     }
 
+    // streams every pokemon with its reviews as NDJSON, the body is written on an async thread
+    @GetMapping(value = "pokemon/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPokemons() {
+        StreamingResponseBody body = outputStream -> pokemonExportService.exportAll(outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // top rated pokemon of a type from the in-memory leaderboard, at most 100
+    @GetMapping("pokemon/leaderboard")
+    public ResponseEntity<List<PokemonRankDto>> pokemonLeaderboard(
+            @RequestParam(value = "type") String type,
+            @RequestParam(value = "limit", defaultValue = "10", required = false) int limit
+    ) {
+        return ResponseEntity.ok(pokemonLeaderboardService.getTopRated(type, limit));
+    }
+
     @GetMapping("pokemon/{id}")
     public ResponseEntity<PokemonDto> pokemonDetail(@PathVariable int id) {
         return ResponseEntity.ok(pokemonService.getPokemonById(id));
 
     }
 
+    @GetMapping("pokemon/{id}/rating")
+    public ResponseEntity<PokemonRatingDto> pokemonRating(@PathVariable int id) {
+        return ResponseEntity.ok(pokemonRatingService.getRating(id));
+    }
+
     @PostMapping("pokemon/create")
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<PokemonDto> createPokemon(@RequestBody PokemonDto pokemonDto) {
@@ -51,4 +105,10 @@ public class PokemonController {
         return new ResponseEntity<>("Pokemon delete", HttpStatus.OK);
     }
 
+    // for pokemon with a huge number of reviews: a background job deletes the reviews in batches and then the pokemon
+    @DeleteMapping(value = "pokemon/{id}/delete", params = "async=true")
+    public ResponseEntity<ReviewDeleteJobDto> deletePokemonAsync(@PathVariable("id") int pokemonId) {
+        return new ResponseEntity<>(reviewDeleteService.startDeleteJob(pokemonId, true), HttpStatus.ACCEPTED);
+    }
+
 }
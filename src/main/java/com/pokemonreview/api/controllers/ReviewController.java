@@ -1,21 +1,42 @@
 package com.pokemonreview.api.controllers;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.dto.ReviewDeleteJobDto;
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewImportDto;
+import com.pokemonreview.api.dto.ReviewImportResponse;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.service.ReviewDeleteService;
+import com.pokemonreview.api.service.ReviewImportService;
 import com.pokemonreview.api.service.ReviewService;
+import com.pokemonreview.api.service.ReviewSort;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive") // the reactive profile serves the API from com.pokemonreview.api.reactive
 @RequestMapping("/api/")
 public class ReviewController {
 
     private ReviewService reviewService;
+    private ReviewImportService reviewImportService;
+    private ReviewDeleteService reviewDeleteService;
+    private ObjectMapper objectMapper;
 
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, ReviewImportService reviewImportService,
+                            ReviewDeleteService reviewDeleteService, ObjectMapper objectMapper) {
         this.reviewService = reviewService;
+        this.reviewImportService = reviewImportService;
+        this.reviewDeleteService = reviewDeleteService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/pokemon/{pokemonId}/reviews")
@@ -23,14 +44,41 @@ public class ReviewController {
         return new ResponseEntity<>(reviewService.createReview(pokemonId, reviewDto), HttpStatus.CREATED);
     }
 
+    /*
+     * Bulk import of reviews, the body is either a JSON array or NDJSON (one review per line).
+     * The body is read as a stream so the payload is never held in memory as a whole.
+     */
+    @PostMapping(value = "/reviews/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ReviewImportResponse> importReviews(HttpServletRequest request) throws IOException {
+        try (MappingIterator<ReviewImportDto> reviews = objectMapper.readerFor(ReviewImportDto.class).readValues(request.getInputStream())) {
+            return new ResponseEntity<>(reviewImportService.importReviews(reviews), HttpStatus.CREATED);
+        }
+    }
+
+    // at most the first 1000 reviews by id, larger listings go through the pages below
     @GetMapping("/pokemon/{pokemonId}/reviews")
     public List<ReviewDto> getReviewsByPokemonId(@PathVariable(value = "pokemonId") int pokemonId) {
         return reviewService.getReviewsByPokemonId(pokemonId);
     }
 
+    @GetMapping("/pokemon/{pokemonId}/reviews/page")
+    public ResponseEntity<ReviewResponse> getReviewPageByPokemonId(
+            @PathVariable(value = "pokemonId") int pokemonId,
+            @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize,
+            @RequestParam(value = "sort", defaultValue = "ID", required = false) ReviewSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        // keyset mode: an empty cursor starts at the beginning, the following pages pass the nextCursor of the response
+        if (cursor != null) {
+            return ResponseEntity.ok(reviewService.getReviewsByPokemonIdAfter(pokemonId, cursor, pageSize, sort));
+        }
+        return ResponseEntity.ok(reviewService.getReviewsByPokemonId(pokemonId, pageNo, pageSize, sort));
+    }
+
     @GetMapping("/pokemon/{pokemonId}/reviews/{id}")
     public ResponseEntity<ReviewDto> getReviewById(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId) {
-        ReviewDto reviewDto = reviewService.getReviewById(pokemonId, reviewId);
+        ReviewDto reviewDto = reviewService.getReviewById(reviewId, pokemonId);
         return new ResponseEntity<>(reviewDto, HttpStatus.OK);
     }
 
@@ -41,6 +89,26 @@ public class ReviewController {
         return new ResponseEntity<>(updatedReview, HttpStatus.OK);
     }
 
+    /*
+     * Deletes every review of the pokemon with one set-based DELETE. With async=true the reviews are deleted in
+     * batches by a background job instead, the response is accepted right away and the progress is polled below.
+     */
+    @DeleteMapping("/pokemon/{pokemonId}/reviews")
+    public ResponseEntity<ReviewDeleteJobDto> deleteReviews(
+            @PathVariable(value = "pokemonId") int pokemonId,
+            @RequestParam(value = "async", defaultValue = "false", required = false) boolean async
+    ) {
+        if (async) {
+            return new ResponseEntity<>(reviewDeleteService.startDeleteJob(pokemonId, false), HttpStatus.ACCEPTED);
+        }
+        return ResponseEntity.ok(reviewDeleteService.deleteReviewsByPokemonId(pokemonId));
+    }
+
+    @GetMapping("/reviews/delete-jobs/{jobId}")
+    public ResponseEntity<ReviewDeleteJobDto> getDeleteJob(@PathVariable(value = "jobId") String jobId) {
+        return ResponseEntity.ok(reviewDeleteService.getDeleteJob(jobId));
+    }
+
     @DeleteMapping("/pokemon/{pokemonId}/reviews/{id}")
     public ResponseEntity<String> deleteReview(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId) {
         reviewService.deleteReview(pokemonId, reviewId);
@@ -1,13 +1,21 @@
 package com.pokemonreview.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AuthResponseDTO {
     private String accessToken;
     private String tokenType = "Bearer ";
+    private String refreshToken;
 
     public AuthResponseDTO(String accessToken) {
         this.accessToken = accessToken;
     }
+
+    public AuthResponseDTO(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
 }
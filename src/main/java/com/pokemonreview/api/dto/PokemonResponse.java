@@ -1,5 +1,6 @@
 package com.pokemonreview.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,11 +12,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PokemonResponse {
     private List<PokemonDto> content;
     private int pageNo;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements; // null when the page was requested with CountMode.NONE
+    private Integer totalPages;
     private boolean last;
+    private String nextCursor;
 }
@@ -0,0 +1,23 @@
+package com.pokemonreview.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pokemonreview.api.service.DeleteJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReviewDeleteJobDto {
+    private String jobId; // null for a delete that ran within the request
+    private int pokemonId;
+    private DeleteJobStatus status;
+    private long totalReviews; // the review count when the delete started
+    private long deletedReviews;
+    private boolean pokemonDeleted;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.pokemonreview.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewImportDto {
+    private int pokemonId;
+    private String title;
+    private String content;
+    private int stars;
+}
@@ -0,0 +1,17 @@
+package com.pokemonreview.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewImportResponse {
+    private long inserted;
+    private int batchSize;
+    private long durationMs;
+    private double rowsPerSecond;
+}
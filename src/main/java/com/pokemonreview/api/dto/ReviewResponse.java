@@ -0,0 +1,24 @@
+package com.pokemonreview.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReviewResponse {
+    private List<ReviewDto> content;
+    private int pageNo;
+    private int pageSize;
+    private Long totalElements; // null for keyset pages
+    private Integer totalPages;
+    private boolean last;
+    private String nextCursor;
+}
@@ -0,0 +1,9 @@
+package com.pokemonreview.api.exceptions;
+
+public class DeleteJobNotFoundException extends RuntimeException {
+    private static final long serialVerisionUID = 4;
+
+    public DeleteJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.pokemonreview.api.exceptions;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    private static final long serialVerisionUID = 7;
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
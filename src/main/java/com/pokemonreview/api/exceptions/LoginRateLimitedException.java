@@ -0,0 +1,16 @@
+package com.pokemonreview.api.exceptions;
+
+public class LoginRateLimitedException extends RuntimeException {
+    private static final long serialVerisionUID = 6;
+
+    private final long retryAfterSeconds;
+
+    public LoginRateLimitedException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.pokemonreview.api.exceptions;
+
+import java.util.concurrent.RejectedExecutionException;
+
+public class PasswordHashingRejectedException extends RejectedExecutionException {
+    private static final long serialVerisionUID = 5;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
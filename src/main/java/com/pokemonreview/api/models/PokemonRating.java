@@ -0,0 +1,64 @@
+package com.pokemonreview.api.models;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/*
+ * Rating aggregates of a pokemon, maintained in the same transaction as every review write so that the
+ * rating summary never has to read the reviews. Stars outside 1-5 are counted in reviewCount and starsSum only.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "pokemon_rating")
+public class PokemonRating {
+    @Id
+    private int pokemonId;
+    private long reviewCount;
+    private long starsSum;
+    private long oneStar;
+    private long twoStars;
+    private long threeStars;
+    private long fourStars;
+    private long fiveStars;
+
+    public PokemonRating(int pokemonId) {
+        this.pokemonId = pokemonId;
+    }
+
+    public void add(int stars, int sign) {
+        reviewCount += sign;
+        starsSum += (long) sign * stars;
+        switch (stars) {
+            case 1 -> oneStar += sign;
+            case 2 -> twoStars += sign;
+            case 3 -> threeStars += sign;
+            case 4 -> fourStars += sign;
+            case 5 -> fiveStars += sign;
+            default -> { }
+        }
+    }
+
+    // adds the counts of a delta accumulated outside of the persistence context, e.g. by the review import
+    public void add(PokemonRating delta) {
+        reviewCount += delta.reviewCount;
+        starsSum += delta.starsSum;
+        oneStar += delta.oneStar;
+        twoStars += delta.twoStars;
+        threeStars += delta.threeStars;
+        fourStars += delta.fourStars;
+        fiveStars += delta.fiveStars;
+    }
+
+    public void reset() {
+        reviewCount = 0;
+        starsSum = 0;
+        oneStar = 0;
+        twoStars = 0;
+        threeStars = 0;
+        fourStars = 0;
+        fiveStars = 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.pokemonreview.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/*
+ * An issued refresh token. Only the SHA-256 of the token is stored, a leaked table does not hold any usable token.
+ * The username is kept instead of a foreign key, so deleting a user does not have to touch the tokens; a refresh
+ * for a user that is gone simply fails.
+ *
+ * The tokens rotated from the same login share a family. A used token stays in the table with usedAt set until
+ * it expires, so a replay of it can be told apart from an unknown token and revokes the whole family.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_refresh_token_family", columnList = "family")
+})
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "token_hash", nullable = false, length = 43)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // null for the tokens issued before the families existed, each of them is a family of its own
+    @Column(length = 22)
+    private String family;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+}
@@ -5,6 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 
 @Data
@@ -12,9 +15,19 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_review_pokemon_id", columnList = "pokemon_id, id"),
+        @Index(name = "idx_review_pokemon_id_stars", columnList = "pokemon_id, stars, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Review {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // a pooled sequence instead of IDENTITY so that Hibernate can batch the inserts of the review import
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = ID_ALLOCATION_SIZE)
     private int id;
     private String title;
     private String content;
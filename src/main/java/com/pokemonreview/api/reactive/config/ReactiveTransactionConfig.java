@@ -0,0 +1,47 @@
+package com.pokemonreview.api.reactive.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.TransactionManagementConfigurer;
+
+import javax.persistence.EntityManagerFactory;
+
+/*
+ * The reactive profile has two transaction managers, the JPA one and the R2DBC one that Spring Boot adds for the
+ * ConnectionFactory. @Transactional keeps using the JPA transaction manager so the JPA services (scheduled jobs,
+ * caches, the login) work unchanged, the reactive services run their transactions through the
+ * TransactionalOperator of the R2DBC transaction manager instead.
+ *
+ * Spring Boot only creates the JPA transaction manager when there is no TransactionManager at all, the R2DBC
+ * one counts as well, so it is declared here the way JpaBaseConfiguration would. The DataSource behind it is
+ * declared by ReactiveDataSourceConfig for the same reason.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveTransactionConfig implements TransactionManagementConfigurer {
+
+    private ObjectProvider<PlatformTransactionManager> transactionManager;
+
+    public ReactiveTransactionConfig(ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager jpaTransactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(jpaTransactionManager));
+        return jpaTransactionManager;
+    }
+
+    @Override
+    public TransactionManager annotationDrivenTransactionManager() {
+        return transactionManager.getObject();
+    }
+}
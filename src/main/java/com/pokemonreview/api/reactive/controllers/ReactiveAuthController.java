@@ -0,0 +1,121 @@
+package com.pokemonreview.api.reactive.controllers;
+
+import com.pokemonreview.api.dto.AuthResponseDTO;
+import com.pokemonreview.api.dto.LoginDto;
+import com.pokemonreview.api.dto.RefreshTokenDto;
+import com.pokemonreview.api.dto.RegisterDto;
+import com.pokemonreview.api.exceptions.LoginRateLimitedException;
+import com.pokemonreview.api.exceptions.PasswordHashingRejectedException;
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.models.UserEntity;
+import com.pokemonreview.api.repository.RoleRepository;
+import com.pokemonreview.api.repository.UserRepository;
+import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.security.LoginRateLimiter;
+import com.pokemonreview.api.security.PasswordHashingExecutor;
+import com.pokemonreview.api.security.UserDetailsCache;
+import com.pokemonreview.api.service.RefreshTokenService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * The users stay in the JPA tables, so the login and the registration of the reactive profile run their
+ * blocking repository calls on the boundedElastic scheduler. Both are rare next to the authenticated requests.
+ * The bcrypt work runs on the PasswordHashingExecutor like in the servlet stack, a full queue answers with a 503.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+
+    private ReactiveAuthenticationManager authenticationManager;
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private PasswordEncoder passwordEncoder;
+    private JWTGenerator jwtGenerator;
+    private UserDetailsCache userDetailsCache;
+    private Scheduler passwordHashingScheduler;
+    private LoginRateLimiter loginRateLimiter;
+    private RefreshTokenService refreshTokenService;
+
+    public ReactiveAuthController(ReactiveAuthenticationManager authenticationManager, UserRepository userRepository,
+                                  RoleRepository roleRepository, PasswordEncoder passwordEncoder, JWTGenerator jwtGenerator,
+                                  UserDetailsCache userDetailsCache, Scheduler passwordHashingScheduler,
+                                  LoginRateLimiter loginRateLimiter, RefreshTokenService refreshTokenService) {
+        this.authenticationManager = authenticationManager;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtGenerator = jwtGenerator;
+        this.userDetailsCache = userDetailsCache;
+        this.passwordHashingScheduler = passwordHashingScheduler;
+        this.loginRateLimiter = loginRateLimiter;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    @PostMapping("login")
+    public Mono<ResponseEntity<AuthResponseDTO>> login(@RequestBody LoginDto loginDto, ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        long retryAfter = loginRateLimiter.tryAcquire(loginDto.getUsername(), remoteAddress == null ? null : remoteAddress.getHostString());
+        if (retryAfter > 0) {
+            return Mono.error(new LoginRateLimitedException("Too many login attempts, try again later", retryAfter));
+        }
+
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword()))
+                .publishOn(Schedulers.boundedElastic()) // the refresh token is inserted with JPA
+                .map(authentication -> new ResponseEntity<>(new AuthResponseDTO(jwtGenerator.generateToken(authentication),
+                        refreshTokenService.createRefreshToken(authentication.getName())), HttpStatus.OK))
+                .onErrorMap(AuthenticationException.class, ex -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, ex.getMessage()))
+                .onErrorMap(RejectedExecutionException.class, ex -> new PasswordHashingRejectedException(PasswordHashingExecutor.REJECTED_MESSAGE));
+    }
+
+    @PostMapping("refresh")
+    public Mono<ResponseEntity<AuthResponseDTO>> refresh(@RequestBody RefreshTokenDto refreshTokenDto) {
+        return Mono.fromCallable(() -> new ResponseEntity<>(refreshTokenService.refresh(refreshTokenDto.getRefreshToken()), HttpStatus.OK))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping("register")
+    public Mono<ResponseEntity<String>> register(@RequestBody RegisterDto registerDto) {
+        return Mono.fromCallable(() -> userRepository.existsByUsername(registerDto.getUsername()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(taken -> taken
+                        ? Mono.just(new ResponseEntity<>("Username is taken!", HttpStatus.BAD_REQUEST))
+                        : Mono.fromCallable(() -> passwordEncoder.encode(registerDto.getPassword()))
+                                .subscribeOn(passwordHashingScheduler)
+                                .publishOn(Schedulers.boundedElastic())
+                                .map(encodedPassword -> save(registerDto.getUsername(), encodedPassword)))
+                .onErrorMap(RejectedExecutionException.class, ex -> new PasswordHashingRejectedException(PasswordHashingExecutor.REJECTED_MESSAGE));
+    }
+
+    private ResponseEntity<String> save(String username, String encodedPassword) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setPassword(encodedPassword);
+        Role roles = roleRepository.findByName("USER").get();
+        user.setRoles(Collections.singletonList(roles));
+
+        userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
+
+        return new ResponseEntity<>("User registered success!", HttpStatus.OK);
+    }
+}
@@ -0,0 +1,57 @@
+package com.pokemonreview.api.reactive.controllers;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.reactive.service.ReactivePokemonService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// the pokemon endpoints of PokemonController on R2DBC, the export, rating and leaderboard stay servlet only
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/")
+public class ReactivePokemonController {
+
+    private ReactivePokemonService pokemonService;
+
+    public ReactivePokemonController(ReactivePokemonService pokemonService) {
+        this.pokemonService = pokemonService;
+    }
+
+    @GetMapping("pokemon")
+    public Mono<PokemonResponse> getPokemons(
+            @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        // keyset mode: an empty cursor starts at the beginning, the following pages pass the nextCursor of the response
+        if (cursor != null) {
+            return pokemonService.getAllPokemonAfter(cursor, pageSize);
+        }
+        return pokemonService.getAllPokemon(pageNo, pageSize);
+    }
+
+    @GetMapping("pokemon/{id}")
+    public Mono<PokemonDto> pokemonDetail(@PathVariable int id) {
+        return pokemonService.getPokemonById(id);
+    }
+
+    @PostMapping("pokemon/create")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<PokemonDto> createPokemon(@RequestBody PokemonDto pokemonDto) {
+        return pokemonService.createPokemon(pokemonDto);
+    }
+
+    @PutMapping("pokemon/{id}/update")
+    public Mono<PokemonDto> updatePokemon(@RequestBody PokemonDto pokemonDto, @PathVariable("id") int pokemonId) {
+        return pokemonService.updatePokemon(pokemonDto, pokemonId);
+    }
+
+    @DeleteMapping("pokemon/{id}/delete")
+    public Mono<ResponseEntity<String>> deletePokemon(@PathVariable("id") int pokemonId) {
+        return pokemonService.deletePokemonId(pokemonId).thenReturn(new ResponseEntity<>("Pokemon delete", HttpStatus.OK));
+    }
+}
@@ -0,0 +1,67 @@
+package com.pokemonreview.api.reactive.controllers;
+
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.reactive.service.ReactiveReviewService;
+import com.pokemonreview.api.service.ReviewSort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// the review endpoints of ReviewController on R2DBC, the bulk import stays servlet only
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/")
+public class ReactiveReviewController {
+
+    private ReactiveReviewService reviewService;
+
+    public ReactiveReviewController(ReactiveReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    @PostMapping("/pokemon/{pokemonId}/reviews")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ReviewDto> createReview(@PathVariable(value = "pokemonId") int pokemonId, @RequestBody ReviewDto reviewDto) {
+        return reviewService.createReview(pokemonId, reviewDto);
+    }
+
+    // at most the first 1000 reviews by id, larger listings go through the pages below
+    @GetMapping("/pokemon/{pokemonId}/reviews")
+    public Flux<ReviewDto> getReviewsByPokemonId(@PathVariable(value = "pokemonId") int pokemonId) {
+        return reviewService.getReviewsByPokemonId(pokemonId);
+    }
+
+    @GetMapping("/pokemon/{pokemonId}/reviews/page")
+    public Mono<ReviewResponse> getReviewPageByPokemonId(
+            @PathVariable(value = "pokemonId") int pokemonId,
+            @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize,
+            @RequestParam(value = "sort", defaultValue = "ID", required = false) ReviewSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        if (cursor != null) {
+            return reviewService.getReviewsByPokemonIdAfter(pokemonId, cursor, pageSize, sort);
+        }
+        return reviewService.getReviewsByPokemonId(pokemonId, pageNo, pageSize, sort);
+    }
+
+    @GetMapping("/pokemon/{pokemonId}/reviews/{id}")
+    public Mono<ReviewDto> getReviewById(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId) {
+        return reviewService.getReviewById(reviewId, pokemonId);
+    }
+
+    @PutMapping("/pokemon/{pokemonId}/reviews/{id}")
+    public Mono<ReviewDto> updateReview(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId,
+                                        @RequestBody ReviewDto reviewDto) {
+        return reviewService.updateReview(pokemonId, reviewId, reviewDto);
+    }
+
+    @DeleteMapping("/pokemon/{pokemonId}/reviews/{id}")
+    public Mono<ResponseEntity<String>> deleteReview(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId) {
+        return reviewService.deleteReview(pokemonId, reviewId).thenReturn(new ResponseEntity<>("Review deleted successfully", HttpStatus.OK));
+    }
+}
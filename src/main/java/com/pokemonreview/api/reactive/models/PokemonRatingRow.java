@@ -0,0 +1,28 @@
+package com.pokemonreview.api.reactive.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/*
+ * R2DBC mapping of the pokemon_rating table created by the PokemonRating entity. The rows are only read here,
+ * they are changed with the atomic statements of ReactivePokemonRatingRepository.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("pokemon_rating")
+public class PokemonRatingRow {
+    @Id
+    @Column("pokemon_id")
+    private Integer pokemonId;
+    @Column("review_count")
+    private long reviewCount;
+    @Column("stars_sum")
+    private long starsSum;
+}
@@ -0,0 +1,24 @@
+package com.pokemonreview.api.reactive.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/*
+ * R2DBC mapping of the pokemon table created by the Pokemon entity. The id is null until the row is inserted,
+ * the database assigns it like it does for the IDENTITY id of the entity.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("pokemon")
+public class PokemonRow {
+    @Id
+    private Integer id;
+    private String name;
+    private String type;
+}
@@ -0,0 +1,29 @@
+package com.pokemonreview.api.reactive.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/*
+ * R2DBC mapping of the review table created by the Review entity. The pokemon is referenced by its id only,
+ * new rows take their id from review_seq (see ReactiveReviewIdAllocator) and are always inserted
+ * explicitly with R2dbcEntityTemplate.insert.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("review")
+public class ReviewRow {
+    @Id
+    private Integer id;
+    private String title;
+    private String content;
+    private int stars;
+    @Column("pokemon_id")
+    private int pokemonId;
+}
@@ -0,0 +1,31 @@
+package com.pokemonreview.api.reactive.repository;
+
+import com.pokemonreview.api.reactive.models.PokemonRatingRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePokemonRatingRepository extends R2dbcRepository<PokemonRatingRow, Integer> {
+
+    /*
+     * Adds the deltas to the rating of the pokemon in one statement. The UPDATE locks the row until the
+     * transaction ends, so concurrent writes never lose an increment. Returns 0 when the pokemon has no rating row.
+     */
+    @Modifying
+    @Query("update pokemon_rating set review_count = review_count + :reviewCount, stars_sum = stars_sum + :starsSum, " +
+            "one_star = one_star + :oneStar, two_stars = two_stars + :twoStars, three_stars = three_stars + :threeStars, " +
+            "four_stars = four_stars + :fourStars, five_stars = five_stars + :fiveStars where pokemon_id = :pokemonId")
+    Mono<Integer> addReviews(int pokemonId, int reviewCount, int starsSum, int oneStar, int twoStars, int threeStars,
+                             int fourStars, int fiveStars);
+
+    // the rating of the pokemon computed from the reviews visible to the transaction, all zeros without reviews
+    @Modifying
+    @Query("insert into pokemon_rating (pokemon_id, review_count, stars_sum, one_star, two_stars, three_stars, four_stars, five_stars) " +
+            "select p.id, count(r.id), coalesce(sum(r.stars), 0), " +
+            "sum(case when r.stars = 1 then 1 else 0 end), sum(case when r.stars = 2 then 1 else 0 end), " +
+            "sum(case when r.stars = 3 then 1 else 0 end), sum(case when r.stars = 4 then 1 else 0 end), " +
+            "sum(case when r.stars = 5 then 1 else 0 end) " +
+            "from pokemon p left join review r on r.pokemon_id = p.id where p.id = :pokemonId group by p.id")
+    Mono<Integer> insertFromReviews(int pokemonId);
+}
@@ -0,0 +1,21 @@
+package com.pokemonreview.api.reactive.repository;
+
+import com.pokemonreview.api.reactive.models.PokemonRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePokemonRepository extends R2dbcRepository<PokemonRow, Integer> {
+
+    Flux<PokemonRow> findAllBy(Pageable pageable);
+
+    // keyset page: the pokemon after the last id of the previous page, in id order
+    Flux<PokemonRow> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+
+    @Modifying
+    @Query("delete from pokemon_rating where pokemon_id = :pokemonId")
+    Mono<Integer> deleteRatingByPokemonId(int pokemonId);
+}
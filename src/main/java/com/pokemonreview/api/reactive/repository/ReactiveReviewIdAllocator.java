@@ -0,0 +1,50 @@
+package com.pokemonreview.api.reactive.repository;
+
+import com.pokemonreview.api.models.Review;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/*
+ * Hands out review ids the way Hibernate's pooled optimizer does for the Review entity: every value v read from
+ * review_seq reserves the block (v - allocationSize, v], whose ids are then used one by one. Both sides only use
+ * the blocks of the values they read themselves, so they never collide, and a reactive insert costs one id of
+ * the sequence instead of a whole block.
+ *
+ * A block that is read while another one is still in use (two requests ran out of ids at once) is dropped.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveReviewIdAllocator {
+
+    private ReactiveReviewRepository reviewRepository;
+
+    private long nextId = 1;
+    private long lastId = 0;
+
+    @Autowired
+    public ReactiveReviewIdAllocator(ReactiveReviewRepository reviewRepository) {
+        this.reviewRepository = reviewRepository;
+    }
+
+    public Mono<Integer> nextId() {
+        return Mono.defer(() -> {
+            Integer id = takeId();
+            return id != null ? Mono.just(id)
+                    : reviewRepository.nextIdBlock().doOnNext(this::useBlock).then(Mono.defer(this::nextId));
+        });
+    }
+
+    private synchronized Integer takeId() {
+        return nextId <= lastId ? Math.toIntExact(nextId++) : null;
+    }
+
+    // the first value of a fresh sequence is 1, ids below 1 are never used
+    private synchronized void useBlock(long highValue) {
+        if (nextId > lastId) {
+            nextId = Math.max(highValue - Review.ID_ALLOCATION_SIZE + 1, 1);
+            lastId = highValue;
+        }
+    }
+}
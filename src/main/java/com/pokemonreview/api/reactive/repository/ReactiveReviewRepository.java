@@ -0,0 +1,34 @@
+package com.pokemonreview.api.reactive.repository;
+
+import com.pokemonreview.api.reactive.models.ReviewRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReviewRepository extends R2dbcRepository<ReviewRow, Integer> {
+
+    Flux<ReviewRow> findByPokemonId(int pokemonId, Pageable pageable);
+
+    Mono<Long> countByPokemonId(int pokemonId);
+
+    Mono<ReviewRow> findByIdAndPokemonId(int id, int pokemonId);
+
+    // keyset page in id order, served by the (pokemon_id, id) index
+    Flux<ReviewRow> findByPokemonIdAndIdGreaterThanOrderByIdAsc(int pokemonId, int id, Pageable pageable);
+
+    // keyset page in stars order: the reviews that sort after (stars, id) in "stars desc, id desc"
+    @Query("select * from review where pokemon_id = :pokemonId and (stars < :stars or (stars = :stars and id < :id))" +
+            " order by stars desc, id desc limit :limit")
+    Flux<ReviewRow> findByPokemonIdBeforeStars(int pokemonId, int stars, int id, int limit);
+
+    // the high end of the next block of review ids, see ReactiveReviewIdAllocator
+    @Query("select next value for review_seq")
+    Mono<Long> nextIdBlock();
+
+    @Modifying
+    @Query("delete from review where pokemon_id = :pokemonId")
+    Mono<Integer> deleteByPokemonId(int pokemonId);
+}
@@ -0,0 +1,86 @@
+package com.pokemonreview.api.reactive.security;
+
+import com.pokemonreview.api.security.JWTPrincipal;
+import com.pokemonreview.api.security.JWTTokenCache;
+import com.pokemonreview.api.security.UserDetailsCache;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class JWTWebFilter implements WebFilter {
+
+    /*
+     * The reactive counterpart of the JWTAuthenticationFilter, added to the SecurityWebFilterChain at the
+     * AUTHENTICATION position. It is deliberately not a bean, WebFlux would otherwise also run it for every
+     * request outside of the security chain.
+     *
+     * The token is verified by the JWTTokenCache on the event loop, a cached token costs a hash and a map lookup.
+     * The UserDetails are taken from the UserDetailsCache when they are cached, only a cache miss needs the
+     * database, and that blocking JPA lookup is moved to the boundedElastic scheduler so the event loop never waits
+     * for it. The authentication is written to the Reactor context instead of a thread local.
+     */
+
+    private final JWTTokenCache tokenCache;
+    private final UserDetailsCache userDetailsCache;
+    private final boolean statelessAuthorities;
+
+    public JWTWebFilter(JWTTokenCache tokenCache, UserDetailsCache userDetailsCache, boolean statelessAuthorities) {
+        this.tokenCache = tokenCache;
+        this.userDetailsCache = userDetailsCache;
+        this.statelessAuthorities = statelessAuthorities;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String token = getJWTFromRequest(exchange);
+        Optional<JWTPrincipal> principal = StringUtils.hasText(token) ? tokenCache.getPrincipal(token) : Optional.empty();
+        if (principal.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        // an unknown user continues unauthenticated and is rejected by the entry point of secured paths
+        return loadUserDetails(principal.get())
+                .map(userDetails -> Optional.of(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())))
+                .onErrorResume(UsernameNotFoundException.class, ex -> Mono.just(Optional.<UsernamePasswordAuthenticationToken>empty()))
+                .flatMap(authentication -> authentication.isPresent()
+                        ? chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication.get()))
+                        : chain.filter(exchange));
+    }
+
+    private Mono<UserDetails> loadUserDetails(JWTPrincipal principal) {
+        String username = principal.subject();
+        if (statelessAuthorities && principal.authorities() != null) {
+            return Mono.just(new User(username, "", mapToAuthorities(principal.authorities())));
+        }
+        return userDetailsCache.getIfPresent(username)
+                .map(Mono::just)
+                .orElseGet(() -> Mono.fromCallable(() -> userDetailsCache.loadUserByUsername(username))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private List<GrantedAuthority> mapToAuthorities(List<String> roles) {
+        return roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+    }
+
+    private String getJWTFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
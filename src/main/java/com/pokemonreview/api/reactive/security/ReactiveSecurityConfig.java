@@ -0,0 +1,83 @@
+package com.pokemonreview.api.reactive.security;
+
+import com.pokemonreview.api.security.CustomUserDetailsService;
+import com.pokemonreview.api.security.JWTTokenCache;
+import com.pokemonreview.api.security.PasswordHashingExecutor;
+import com.pokemonreview.api.security.UserDetailsCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * The security of the reactive profile, mirroring SecurityConfig: /api/auth/** is open, every other path needs a
+ * bearer token that is checked by the JWTWebFilter. Nothing is stored between requests, the
+ * NoOpServerSecurityContextRepository plays the part of the STATELESS session policy.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Profile("reactive")
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JWTTokenCache tokenCache,
+                                                         UserDetailsCache userDetailsCache,
+                                                         @Value("${security.jwt.stateless-authorities:false}") boolean statelessAuthorities) {
+        return http
+                .csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling()
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED))
+                .and()
+                .authorizeExchange()
+                .pathMatchers("/api/auth/**").permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .addFilterAt(new JWTWebFilter(tokenCache, userDetailsCache, statelessAuthorities), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /*
+     * The login checks the password against the database like the servlet login does. The user lookup is blocking
+     * JPA and runs on the boundedElastic scheduler, the manager hashes the password on the PasswordHashingExecutor.
+     */
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(CustomUserDetailsService userDetailsService,
+                                                                       PasswordEncoder passwordEncoder,
+                                                                       Scheduler passwordHashingScheduler) {
+        ReactiveUserDetailsService reactiveUserDetailsService = username ->
+                Mono.fromCallable(() -> userDetailsService.loadUserByUsername(username)).subscribeOn(Schedulers.boundedElastic());
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(reactiveUserDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(passwordHashingScheduler);
+        return authenticationManager;
+    }
+
+    @Bean
+    public Scheduler passwordHashingScheduler(PasswordHashingExecutor passwordHashingExecutor) {
+        return passwordHashingExecutor.scheduler();
+    }
+
+    @Bean
+    PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
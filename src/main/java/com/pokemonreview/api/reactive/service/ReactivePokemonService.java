@@ -0,0 +1,14 @@
+package com.pokemonreview.api.reactive.service;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonResponse;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePokemonService {
+    Mono<PokemonDto> createPokemon(PokemonDto pokemonDto);
+    Mono<PokemonResponse> getAllPokemon(int pageNo, int pageSize);
+    Mono<PokemonResponse> getAllPokemonAfter(String cursor, int pageSize);
+    Mono<PokemonDto> getPokemonById(int id);
+    Mono<PokemonDto> updatePokemon(PokemonDto pokemonDto, int id);
+    Mono<Void> deletePokemonId(int id);
+}
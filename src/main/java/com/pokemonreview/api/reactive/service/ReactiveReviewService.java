@@ -0,0 +1,17 @@
+package com.pokemonreview.api.reactive.service;
+
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.service.ReviewSort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReviewService {
+    Mono<ReviewDto> createReview(int pokemonId, ReviewDto reviewDto);
+    Flux<ReviewDto> getReviewsByPokemonId(int id);
+    Mono<ReviewResponse> getReviewsByPokemonId(int id, int pageNo, int pageSize, ReviewSort sort);
+    Mono<ReviewResponse> getReviewsByPokemonIdAfter(int id, String cursor, int pageSize, ReviewSort sort);
+    Mono<ReviewDto> getReviewById(int reviewId, int pokemonId);
+    Mono<ReviewDto> updateReview(int pokemonId, int reviewId, ReviewDto reviewDto);
+    Mono<Void> deleteReview(int pokemonId, int reviewId);
+}
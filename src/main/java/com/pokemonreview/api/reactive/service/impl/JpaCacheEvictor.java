@@ -0,0 +1,50 @@
+package com.pokemonreview.api.reactive.service.impl;
+
+import com.pokemonreview.api.config.CacheConfig;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/*
+ * The R2DBC writes bypass Hibernate, so neither the second-level cache nor the update timestamps that invalidate
+ * the query cache learn about them. The JPA reads of the same application (the login, the leaderboard, the
+ * scheduled jobs) would keep serving the old rows. After every reactive write the changed entities are evicted
+ * from their regions, together with all cached query results, and the mapped pokemon DTOs are dropped from the
+ * Spring caches.
+ */
+@Component
+@Profile("reactive")
+public class JpaCacheEvictor {
+
+    private SessionFactory sessionFactory;
+    private CacheManager cacheManager;
+
+    @Autowired
+    public JpaCacheEvictor(EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheManager = cacheManager;
+    }
+
+    public void pokemonChanged(int pokemonId) {
+        sessionFactory.getCache().evictEntityData(Pokemon.class, pokemonId);
+        sessionFactory.getCache().evictQueryRegions();
+        cacheManager.getCache(CacheConfig.POKEMON_CACHE).evict(pokemonId);
+        cacheManager.getCache(CacheConfig.POKEMON_PAGES_CACHE).clear();
+    }
+
+    // the reviews of a deleted pokemon are not known one by one, the whole Review region is evicted then
+    public void reviewsChanged(Integer reviewId) {
+        if (reviewId == null) {
+            sessionFactory.getCache().evictEntityData(Review.class);
+        } else {
+            sessionFactory.getCache().evictEntityData(Review.class, reviewId);
+        }
+        sessionFactory.getCache().evictQueryRegions();
+    }
+}
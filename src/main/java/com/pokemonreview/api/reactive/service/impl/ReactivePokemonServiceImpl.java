@@ -0,0 +1,179 @@
+package com.pokemonreview.api.reactive.service.impl;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.reactive.models.PokemonRow;
+import com.pokemonreview.api.reactive.repository.ReactivePokemonRatingRepository;
+import com.pokemonreview.api.reactive.repository.ReactivePokemonRepository;
+import com.pokemonreview.api.reactive.repository.ReactiveReviewRepository;
+import com.pokemonreview.api.reactive.service.ReactivePokemonService;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactivePokemonServiceImpl implements ReactivePokemonService {
+
+    /*
+     * The reactive counterpart of PokemonServiceImpl, every query runs on the R2DBC connection pool and no
+     * thread is blocked while it is waiting for the database. The cursors are the same as those of
+     * PokemonServiceImpl, so a client can switch between the two stacks.
+     *
+     * The writes run in R2DBC transactions through the TransactionalOperator, @Transactional resolves to the
+     * JPA transaction manager (see ReactiveTransactionConfig). The DTO caches and the pokemon count of the
+     * servlet stack are not maintained here.
+     */
+
+    private ReactivePokemonRepository pokemonRepository;
+    private ReactiveReviewRepository reviewRepository;
+    private ReactivePokemonRatingRepository ratingRepository;
+    private PokemonLeaderboardService pokemonLeaderboardService;
+    private JpaCacheEvictor jpaCacheEvictor;
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    public ReactivePokemonServiceImpl(ReactivePokemonRepository pokemonRepository, ReactiveReviewRepository reviewRepository,
+                                      ReactivePokemonRatingRepository ratingRepository,
+                                      PokemonLeaderboardService pokemonLeaderboardService, JpaCacheEvictor jpaCacheEvictor,
+                                      TransactionalOperator transactionalOperator) {
+        this.pokemonRepository = pokemonRepository;
+        this.reviewRepository = reviewRepository;
+        this.ratingRepository = ratingRepository;
+        this.pokemonLeaderboardService = pokemonLeaderboardService;
+        this.jpaCacheEvictor = jpaCacheEvictor;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    // the rating row is created with the pokemon, like PokemonServiceImpl does
+    @Override
+    public Mono<PokemonDto> createPokemon(PokemonDto pokemonDto) {
+        PokemonRow pokemon = new PokemonRow(null, pokemonDto.getName(), pokemonDto.getType());
+        return pokemonRepository.save(pokemon)
+                .flatMap(saved -> ratingRepository.insertFromReviews(saved.getId()).thenReturn(saved))
+                .map(this::mapToDto)
+                .as(transactionalOperator::transactional)
+                .doOnNext(created -> jpaCacheEvictor.pokemonChanged(created.getId()));
+    }
+
+    // the page and the count query run concurrently on two connections
+    @Override
+    public Mono<PokemonResponse> getAllPokemon(int pageNo, int pageSize) {
+        PageRequest pageable = PageRequest.of(pageNo, pageSize, Sort.by("id"));
+        return Mono.zip(pokemonRepository.findAllBy(pageable).map(this::mapToDto).collectList(), pokemonRepository.count())
+                .map(page -> {
+                    long totalElements = page.getT2();
+                    int totalPages = (int) ((totalElements + pageSize - 1) / pageSize);
+
+                    PokemonResponse pokemonResponse = new PokemonResponse();
+                    pokemonResponse.setContent(page.getT1());
+                    pokemonResponse.setPageNo(pageNo);
+                    pokemonResponse.setPageSize(pageSize);
+                    pokemonResponse.setTotalElements(totalElements);
+                    pokemonResponse.setTotalPages(totalPages);
+                    pokemonResponse.setLast(pageNo + 1 >= totalPages);
+                    return pokemonResponse;
+                });
+    }
+
+    @Override
+    public Mono<PokemonResponse> getAllPokemonAfter(String cursor, int pageSize) {
+        if (pageSize < 1) {
+            return Mono.error(new IllegalArgumentException("Page size must not be less than one"));
+        }
+        return Mono.fromCallable(() -> decodeCursor(cursor))
+                .flatMap(lastId -> pokemonRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize + 1))
+                        .map(this::mapToDto)
+                        .collectList())
+                .map(pokemons -> {
+                    boolean last = pokemons.size() <= pageSize;
+                    List<PokemonDto> content = last ? pokemons : pokemons.subList(0, pageSize);
+
+                    PokemonResponse pokemonResponse = new PokemonResponse();
+                    pokemonResponse.setContent(content);
+                    pokemonResponse.setPageSize(pageSize);
+                    pokemonResponse.setLast(last);
+                    if (!last) {
+                        pokemonResponse.setNextCursor(encodeCursor(content.get(content.size() - 1).getId()));
+                    }
+                    return pokemonResponse;
+                });
+    }
+
+    @Override
+    public Mono<PokemonDto> getPokemonById(int id) {
+        return pokemonRepository.findById(id)
+                .map(this::mapToDto)
+                .switchIfEmpty(Mono.error(() -> new PokemonNotFoundException("Pokemon could not be found")));
+    }
+
+    @Override
+    public Mono<PokemonDto> updatePokemon(PokemonDto pokemonDto, int id) {
+        return pokemonRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new PokemonNotFoundException("Pokemon could not be updated")))
+                .flatMap(pokemon -> {
+                    pokemon.setName(pokemonDto.getName());
+                    pokemon.setType(pokemonDto.getType());
+                    return pokemonRepository.save(pokemon);
+                })
+                .map(this::mapToDto)
+                .as(transactionalOperator::transactional)
+                .doOnNext(updated -> {
+                    jpaCacheEvictor.pokemonChanged(id);
+                    pokemonLeaderboardService.pokemonUpdated(id, updated.getName(), updated.getType());
+                });
+    }
+
+    /*
+     * There is no cascade without JPA, the reviews and the rating aggregates are deleted before the pokemon.
+     * Once committed the pokemon leaves the leaderboard and the JPA caches.
+     */
+    @Override
+    public Mono<Void> deletePokemonId(int id) {
+        return pokemonRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new PokemonNotFoundException("Pokemon could not be delete")))
+                .flatMap(pokemon -> reviewRepository.deleteByPokemonId(id)
+                        .then(pokemonRepository.deleteRatingByPokemonId(id))
+                        .then(pokemonRepository.deleteById(id)))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(deleted -> {
+                    jpaCacheEvictor.pokemonChanged(id);
+                    jpaCacheEvictor.reviewsChanged(null);
+                    pokemonLeaderboardService.pokemonRemoved(id);
+                });
+    }
+
+    private PokemonDto mapToDto(PokemonRow pokemon) {
+        PokemonDto pokemonDto = new PokemonDto();
+        pokemonDto.setId(pokemon.getId());
+        pokemonDto.setName(pokemon.getName());
+        pokemonDto.setType(pokemon.getType());
+        return pokemonDto;
+    }
+
+    private String encodeCursor(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int decodeCursor(String cursor) {
+        if (cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor is not valid");
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.pokemonreview.api.reactive.service.impl;
+
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.exceptions.ReviewNotFoundException;
+import com.pokemonreview.api.reactive.models.ReviewRow;
+import com.pokemonreview.api.reactive.repository.ReactivePokemonRatingRepository;
+import com.pokemonreview.api.reactive.repository.ReactivePokemonRepository;
+import com.pokemonreview.api.reactive.repository.ReactiveReviewIdAllocator;
+import com.pokemonreview.api.reactive.repository.ReactiveReviewRepository;
+import com.pokemonreview.api.reactive.service.ReactiveReviewService;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import com.pokemonreview.api.service.ReviewSort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static com.pokemonreview.api.service.impl.ReviewServiceImpl.MAX_LIST_SIZE;
+import static com.pokemonreview.api.service.impl.ReviewServiceImpl.MAX_PAGE_SIZE;
+
+@Service
+@Profile("reactive")
+public class ReactiveReviewServiceImpl implements ReactiveReviewService {
+
+    /*
+     * The reactive counterpart of ReviewServiceImpl with the same limits and cursors.
+     *
+     * Every review write updates pokemon_rating in its R2DBC transaction with an atomic UPDATE, before the review
+     * row itself is written. A pokemon without a rating row (created by SQL) gets it seeded from its reviews at
+     * that point, which do not contain the change of the transaction yet. Two writes seeding the same pokemon at
+     * once collide on the primary key, the loser is retried once and then finds the row.
+     * The new rating is passed on to the leaderboard once the transaction committed, and the changed review is
+     * evicted from the JPA caches (see JpaCacheEvictor).
+     */
+
+    private static final int SEED_RETRIES = 1;
+
+    private ReactiveReviewRepository reviewRepository;
+    private ReactivePokemonRepository pokemonRepository;
+    private ReactivePokemonRatingRepository ratingRepository;
+    private ReactiveReviewIdAllocator reviewIdAllocator;
+    private PokemonLeaderboardService pokemonLeaderboardService;
+    private JpaCacheEvictor jpaCacheEvictor;
+    private R2dbcEntityTemplate entityTemplate;
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    public ReactiveReviewServiceImpl(ReactiveReviewRepository reviewRepository, ReactivePokemonRepository pokemonRepository,
+                                     ReactivePokemonRatingRepository ratingRepository,
+                                     ReactiveReviewIdAllocator reviewIdAllocator,
+                                     PokemonLeaderboardService pokemonLeaderboardService, JpaCacheEvictor jpaCacheEvictor,
+                                     R2dbcEntityTemplate entityTemplate, TransactionalOperator transactionalOperator) {
+        this.reviewRepository = reviewRepository;
+        this.pokemonRepository = pokemonRepository;
+        this.ratingRepository = ratingRepository;
+        this.reviewIdAllocator = reviewIdAllocator;
+        this.pokemonLeaderboardService = pokemonLeaderboardService;
+        this.jpaCacheEvictor = jpaCacheEvictor;
+        this.entityTemplate = entityTemplate;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public Mono<ReviewDto> createReview(int pokemonId, ReviewDto reviewDto) {
+        return pokemonRepository.existsById(pokemonId)
+                .flatMap(exists -> exists
+                        ? addToRating(pokemonId, reviewDto.getStars(), 1).then(reviewIdAllocator.nextId())
+                        : Mono.<Integer>error(new PokemonNotFoundException("Pokemon with associated review not found")))
+                .flatMap(id -> entityTemplate.insert(new ReviewRow(id, reviewDto.getTitle(),
+                        reviewDto.getContent(), reviewDto.getStars(), pokemonId)))
+                .map(this::mapToDto)
+                .as(mono -> ratingWrite(pokemonId, mono))
+                .doOnNext(review -> jpaCacheEvictor.reviewsChanged(review.getId()));
+    }
+
+    @Override
+    public Flux<ReviewDto> getReviewsByPokemonId(int id) {
+        return reviewRepository.findByPokemonId(id, PageRequest.of(0, MAX_LIST_SIZE, Sort.by("id"))).map(this::mapToDto);
+    }
+
+    @Override
+    public Mono<ReviewResponse> getReviewsByPokemonId(int id, int pageNo, int pageSize, ReviewSort sort) {
+        int size = cappedPageSize(pageSize);
+        PageRequest pageable = PageRequest.of(pageNo, size, toSort(sort));
+        return Mono.zip(reviewRepository.findByPokemonId(id, pageable).map(this::mapToDto).collectList(),
+                        reviewRepository.countByPokemonId(id))
+                .map(page -> {
+                    long totalElements = page.getT2();
+                    int totalPages = (int) ((totalElements + size - 1) / size);
+
+                    ReviewResponse reviewResponse = new ReviewResponse();
+                    reviewResponse.setContent(page.getT1());
+                    reviewResponse.setPageNo(pageNo);
+                    reviewResponse.setPageSize(size);
+                    reviewResponse.setTotalElements(totalElements);
+                    reviewResponse.setTotalPages(totalPages);
+                    reviewResponse.setLast(pageNo + 1 >= totalPages);
+                    return reviewResponse;
+                });
+    }
+
+    @Override
+    public Mono<ReviewResponse> getReviewsByPokemonIdAfter(int id, String cursor, int pageSize, ReviewSort sort) {
+        int size = cappedPageSize(pageSize);
+        return Mono.fromCallable(() -> decodeCursor(cursor, sort))
+                .flatMap(key -> (sort == ReviewSort.STARS
+                        ? reviewRepository.findByPokemonIdBeforeStars(id, key[0], key[1], size + 1)
+                        : reviewRepository.findByPokemonIdAndIdGreaterThanOrderByIdAsc(id, key[1], PageRequest.of(0, size + 1)))
+                        .map(this::mapToDto)
+                        .collectList())
+                .map(reviews -> {
+                    boolean last = reviews.size() <= size;
+                    List<ReviewDto> content = last ? reviews : reviews.subList(0, size);
+
+                    ReviewResponse reviewResponse = new ReviewResponse();
+                    reviewResponse.setContent(content);
+                    reviewResponse.setPageSize(size);
+                    reviewResponse.setLast(last);
+                    if (!last) {
+                        ReviewDto lastReview = content.get(content.size() - 1);
+                        reviewResponse.setNextCursor(encodeCursor(lastReview.getStars(), lastReview.getId()));
+                    }
+                    return reviewResponse;
+                });
+    }
+
+    @Override
+    public Mono<ReviewDto> getReviewById(int reviewId, int pokemonId) {
+        return findReviewOfPokemon(pokemonId, reviewId).map(this::mapToDto);
+    }
+
+    @Override
+    public Mono<ReviewDto> updateReview(int pokemonId, int reviewId, ReviewDto reviewDto) {
+        return findReviewOfPokemon(pokemonId, reviewId)
+                .flatMap(review -> {
+                    Mono<Void> ratingChange = review.getStars() == reviewDto.getStars() ? Mono.empty()
+                            : addToRating(pokemonId, review.getStars(), -1).then(addToRating(pokemonId, reviewDto.getStars(), 1));
+                    review.setTitle(reviewDto.getTitle());
+                    review.setContent(reviewDto.getContent());
+                    review.setStars(reviewDto.getStars());
+                    return ratingChange.then(reviewRepository.save(review));
+                })
+                .map(this::mapToDto)
+                .as(mono -> ratingWrite(pokemonId, mono))
+                .doOnNext(review -> jpaCacheEvictor.reviewsChanged(review.getId()));
+    }
+
+    @Override
+    public Mono<Void> deleteReview(int pokemonId, int reviewId) {
+        return findReviewOfPokemon(pokemonId, reviewId)
+                .flatMap(review -> addToRating(pokemonId, review.getStars(), -1).then(reviewRepository.delete(review)))
+                .as(mono -> ratingWrite(pokemonId, mono))
+                .doOnSuccess(deleted -> jpaCacheEvictor.reviewsChanged(reviewId));
+    }
+
+    // runs the write in a transaction, retries it once when it lost the race to seed the rating row
+    private <T> Mono<T> ratingWrite(int pokemonId, Mono<T> write) {
+        return write
+                .as(transactionalOperator::transactional)
+                .retryWhen(Retry.max(SEED_RETRIES).filter(DataIntegrityViolationException.class::isInstance))
+                .flatMap(result -> ratingChanged(pokemonId).thenReturn(result))
+                .switchIfEmpty(Mono.defer(() -> ratingChanged(pokemonId).then(Mono.<T>empty())));
+    }
+
+    // must run before the review row is written, a missing rating row is seeded from the reviews
+    private Mono<Void> addToRating(int pokemonId, int stars, int count) {
+        Mono<Integer> update = ratingRepository.addReviews(pokemonId, count, count * stars, stars == 1 ? count : 0,
+                stars == 2 ? count : 0, stars == 3 ? count : 0, stars == 4 ? count : 0, stars == 5 ? count : 0);
+        return update
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : ratingRepository.insertFromReviews(pokemonId).then(update))
+                .then();
+    }
+
+    // the leaderboard may load the pokemon through JPA, so it is updated on the boundedElastic scheduler
+    private Mono<Void> ratingChanged(int pokemonId) {
+        return ratingRepository.findById(pokemonId)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(rating -> pokemonLeaderboardService.ratingChanged(pokemonId, rating.getReviewCount(), rating.getStarsSum()))
+                .then();
+    }
+
+    private Mono<ReviewRow> findReviewOfPokemon(int pokemonId, int reviewId) {
+        return reviewRepository.findByIdAndPokemonId(reviewId, pokemonId)
+                .switchIfEmpty(Mono.error(() -> new ReviewNotFoundException("Review with associate pokemon not found")));
+    }
+
+    private int cappedPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    private Sort toSort(ReviewSort sort) {
+        return sort == ReviewSort.STARS ? Sort.by(Sort.Direction.DESC, "stars", "id") : Sort.by("id");
+    }
+
+    private String encodeCursor(int stars, int id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((stars + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // returns {stars, id}, an empty cursor starts before the first review of the sort order
+    private int[] decodeCursor(String cursor, ReviewSort sort) {
+        if (cursor.isEmpty()) {
+            return sort == ReviewSort.STARS ? new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE} : new int[]{0, 0};
+        }
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", -1);
+            if (key.length != 2) {
+                throw new InvalidCursorException("Cursor is not valid");
+            }
+            return new int[]{Integer.parseInt(key[0]), Integer.parseInt(key[1])};
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor is not valid");
+        }
+    }
+
+    private ReviewDto mapToDto(ReviewRow review) {
+        ReviewDto reviewDto = new ReviewDto();
+        reviewDto.setId(review.getId());
+        reviewDto.setTitle(review.getTitle());
+        reviewDto.setContent(review.getContent());
+        reviewDto.setStars(review.getStars());
+        return reviewDto;
+    }
+}
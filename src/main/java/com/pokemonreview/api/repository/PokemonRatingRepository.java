@@ -0,0 +1,64 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.models.PokemonRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+public interface PokemonRatingRepository extends JpaRepository<PokemonRating, Integer> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from PokemonRating r where r.pokemonId = :pokemonId")
+    Optional<PokemonRating> findByIdForUpdate(@Param("pokemonId") int pokemonId);
+
+    @Query("select count(r) as reviewCount, coalesce(sum(r.stars), 0) as starsSum, "
+            + "coalesce(sum(case when r.stars = 1 then 1 else 0 end), 0) as oneStar, "
+            + "coalesce(sum(case when r.stars = 2 then 1 else 0 end), 0) as twoStars, "
+            + "coalesce(sum(case when r.stars = 3 then 1 else 0 end), 0) as threeStars, "
+            + "coalesce(sum(case when r.stars = 4 then 1 else 0 end), 0) as fourStars, "
+            + "coalesce(sum(case when r.stars = 5 then 1 else 0 end), 0) as fiveStars "
+            + "from Review r where r.pokemon.id = :pokemonId")
+    RatingRow computeFromReviews(@Param("pokemonId") int pokemonId);
+
+    // the ratings of every pokemon that has none, computed from their reviews in one statement
+    @Modifying
+    @Query(value = "insert into pokemon_rating (pokemon_id, review_count, stars_sum, one_star, two_stars, three_stars, four_stars, five_stars) "
+            + "select p.id, count(r.id), coalesce(sum(r.stars), 0), "
+            + "sum(case when r.stars = 1 then 1 else 0 end), sum(case when r.stars = 2 then 1 else 0 end), "
+            + "sum(case when r.stars = 3 then 1 else 0 end), sum(case when r.stars = 4 then 1 else 0 end), "
+            + "sum(case when r.stars = 5 then 1 else 0 end) "
+            + "from pokemon p left join review r on r.pokemon_id = p.id "
+            + "where not exists (select 1 from pokemon_rating pr where pr.pokemon_id = p.id) group by p.id", nativeQuery = true)
+    int insertAllMissingFromReviews();
+
+    @Modifying
+    @Query("delete from PokemonRating r where r.pokemonId = :pokemonId")
+    int deleteByPokemonId(@Param("pokemonId") int pokemonId);
+
+    @Query("select p.id as id, p.name as name, p.type as type, r.reviewCount as reviewCount, r.starsSum as starsSum "
+            + "from Pokemon p, PokemonRating r where r.pokemonId = p.id and r.reviewCount > 0")
+    List<RankRow> findAllRanks();
+
+    interface RatingRow {
+        long getReviewCount();
+        long getStarsSum();
+        long getOneStar();
+        long getTwoStars();
+        long getThreeStars();
+        long getFourStars();
+        long getFiveStars();
+    }
+
+    interface RankRow {
+        int getId();
+        String getName();
+        String getType();
+        long getReviewCount();
+        long getStarsSum();
+    }
+}
@@ -1,10 +1,47 @@
 package com.pokemonreview.api.repository;
 
+import com.pokemonreview.api.dto.PokemonDto;
 import com.pokemonreview.api.models.Pokemon;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface PokemonRepository extends JpaRepository<Pokemon, Integer> {
     Optional<Pokemon> findByType(String type);
+
+    // the read paths select straight into PokemonDto, no pokemon entity or reviews collection is created
+    @Query(value = "select new com.pokemonreview.api.dto.PokemonDto(p.id, p.name, p.type) from Pokemon p",
+            countQuery = "select count(p) from Pokemon p")
+    Page<PokemonDto> findAllDtos(Pageable pageable);
+
+    @Query("select new com.pokemonreview.api.dto.PokemonDto(p.id, p.name, p.type) from Pokemon p")
+    Slice<PokemonDto> findDtoSlice(Pageable pageable);
+
+    @Query("select new com.pokemonreview.api.dto.PokemonDto(p.id, p.name, p.type) from Pokemon p "
+            + "where p.id > :id order by p.id asc")
+    List<PokemonDto> findDtosAfterId(@Param("id") int id, Pageable pageable);
+
+    @Query("select new com.pokemonreview.api.dto.PokemonDto(p.id, p.name, p.type) from Pokemon p where p.id = :id")
+    Optional<PokemonDto> findDtoById(@Param("id") int id);
+
+    @Query("select p.id from Pokemon p where p.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    // forward-only cursor over the whole table, it has to be consumed inside a transaction and closed afterwards
+    @Query("select p from Pokemon p order by p.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Pokemon> streamAll();
 }
@@ -0,0 +1,27 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // returns 0 when the token was already used, by an earlier or by a concurrent refresh
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :now where t.id = :id and t.usedAt is null")
+    int markUsed(@Param("id") int id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.family = :family")
+    int deleteFamily(@Param("family") String family);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
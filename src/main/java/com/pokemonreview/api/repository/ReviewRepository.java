@@ -1,11 +1,79 @@
 package com.pokemonreview.api.repository;
 
+import com.pokemonreview.api.dto.ReviewDto;
 import com.pokemonreview.api.models.Review;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 
 public interface ReviewRepository extends JpaRepository<Review, Integer> {
     List<Review> findByPokemonId(int pokemonId);
+    Optional<Review> findByIdAndPokemonId(int id, int pokemonId);
+
+    /*
+     * The read paths select straight into ReviewDto, no review entity or pokemon proxy is created.
+     * The capped list is served by the Hibernate query cache, which keeps the selected column values of the
+     * rows and is invalidated by any write to the review table. The Review entity region is not involved.
+     */
+    @Query("select new com.pokemonreview.api.dto.ReviewDto(r.id, r.title, r.content, r.stars) from Review r "
+            + "where r.pokemon.id = :pokemonId")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<ReviewDto> findDtosByPokemonId(@Param("pokemonId") int pokemonId, Pageable pageable);
+
+    @Query(value = "select new com.pokemonreview.api.dto.ReviewDto(r.id, r.title, r.content, r.stars) from Review r "
+            + "where r.pokemon.id = :pokemonId",
+            countQuery = "select count(r) from Review r where r.pokemon.id = :pokemonId")
+    Page<ReviewDto> findDtoPageByPokemonId(@Param("pokemonId") int pokemonId, Pageable pageable);
+
+    @Query("select new com.pokemonreview.api.dto.ReviewDto(r.id, r.title, r.content, r.stars) from Review r "
+            + "where r.pokemon.id = :pokemonId and r.id > :id order by r.id asc")
+    List<ReviewDto> findDtosByPokemonIdAfterId(@Param("pokemonId") int pokemonId, @Param("id") int id, Pageable pageable);
+
+    // keyset over (stars desc, id desc), the first page starts at Integer.MAX_VALUE for both
+    @Query("select new com.pokemonreview.api.dto.ReviewDto(r.id, r.title, r.content, r.stars) from Review r "
+            + "where r.pokemon.id = :pokemonId and (r.stars < :stars or (r.stars = :stars and r.id < :id)) "
+            + "order by r.stars desc, r.id desc")
+    List<ReviewDto> findDtosByPokemonIdBeforeStars(@Param("pokemonId") int pokemonId, @Param("stars") int stars,
+                                                   @Param("id") int id, Pageable pageable);
+
+    @Query("select new com.pokemonreview.api.dto.ReviewDto(r.id, r.title, r.content, r.stars) from Review r "
+            + "where r.id = :id and r.pokemon.id = :pokemonId")
+    Optional<ReviewDto> findDtoByIdAndPokemonId(@Param("id") int id, @Param("pokemonId") int pokemonId);
+
+    List<Review> findByPokemonIdIn(Collection<Integer> pokemonIds);
+
+    long countByPokemonId(int pokemonId);
+
+    /*
+     * Set-based deletes, the reviews are never loaded into the persistence context. Hibernate evicts the Review
+     * region of the second-level cache and invalidates the cached queries on the review table after each of them.
+     */
+    @Modifying
+    @Query("delete from Review r where r.pokemon.id = :pokemonId")
+    int deleteAllByPokemonId(@Param("pokemonId") int pokemonId);
+
+    @Modifying
+    @Query("delete from Review r where r.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // the ids and stars of the next reviews to delete, in id order
+    @Query("select r.id as id, r.stars as stars from Review r where r.pokemon.id = :pokemonId order by r.id")
+    List<StarsRow> findStarsByPokemonId(@Param("pokemonId") int pokemonId, Pageable pageable);
+
+    interface StarsRow {
+        int getId();
+        int getStars();
+    }
 }
@@ -0,0 +1,57 @@
+package com.pokemonreview.api.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * Bounded ring buffer for many producer threads and a single consumer thread. A producer claims a slot with one
+ * CAS on the tail and never waits: when the ring is full offer returns false and the caller drops the element.
+ * The capacity is rounded up to a power of two.
+ */
+final class AuditRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // only written by the consumer
+
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean offer(T element) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.set((int) claimed & mask, element);
+                return true;
+            }
+        }
+    }
+
+    // returns null when the ring is empty or the next element is claimed but not published yet
+    T poll() {
+        long next = head;
+        int index = (int) next & mask;
+        T element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.set(index, null);
+        head = next + 1;
+        return element;
+    }
+
+    int size() {
+        return (int) (tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
@@ -1,8 +1,12 @@
 package com.pokemonreview.api.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
@@ -13,6 +17,9 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
@@ -27,9 +34,17 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
      */
 
     @Autowired
-    private JWTGenerator tokenGenerator;
+    private JWTTokenCache tokenCache;
     @Autowired
-    private CustomUserDetailsService customUserDetailsService;
+    private UserDetailsCache userDetailsCache;
+
+    /*
+     * In the stateless mode the authorities are read from the roles claim of the token and the user is not loaded
+     * at all, which removes the user lookup from every request. Role changes only take effect once the user's
+     * current token has expired.
+     */
+    @Value("${security.jwt.stateless-authorities:false}")
+    private boolean statelessAuthorities;
 
 /*
  * The doFilterInternal method is overridden to implement the filtering logic.
@@ -54,12 +69,21 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
          * The security context is a container for security-related information about the current user.
          * This Userdetails object contains the user's username, password, and granted authorities (roles).
          * The granted authorities are used by Spring Security to determine the user's permissions and access rights.
+         *
+         * The JWTTokenCache validates the token and returns its principal in one step, a token that was already
+         * verified is served from the cache instead of being parsed again. An invalid token gives an empty
+         * principal and the request simply continues unauthenticated.
          */
         String token = getJWTFromRequest(request);
-        if(StringUtils.hasText(token) && tokenGenerator.validateToken(token)) {
-            String username = tokenGenerator.getUsernameFromJWT(token);
+        Optional<JWTPrincipal> principal = StringUtils.hasText(token) ? tokenCache.getPrincipal(token) : Optional.empty();
+        if(principal.isPresent()) {
+            String username = principal.get().subject();
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            // the UserDetails are built from the roles claim in the stateless mode, otherwise they are served from
+            // the UserDetailsCache and the database is only hit once per TTL and user
+            UserDetails userDetails = statelessAuthorities && principal.get().authorities() != null
+                    ? new User(username, "", mapToAuthorities(principal.get().authorities()))
+                    : userDetailsCache.loadUserByUsername(username);
 
             /*
              * The UsernamePasswordAuthenticationToken is a Spring Security class that represents an authentication token
@@ -79,6 +103,10 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private List<GrantedAuthority> mapToAuthorities(List<String> roles) {
+        return roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+    }
+
     private String getJWTFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if(StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
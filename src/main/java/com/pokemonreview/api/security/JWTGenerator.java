@@ -1,56 +1,80 @@
 package com.pokemonreview.api.security;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import java.security.Key;
-//import java.security.KeyPair;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.SignatureAlgorithm;
 
-import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JWTGenerator {
 
-	//private static final KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-	private static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+	// The signing key and the prebuilt parsers, HS512 with a key generated per JVM unless
+	// security.jwt.algorithm selects RS256 or ES256 keys, see JWTKeyRing.
+	private final JWTKeyRing keyRing;
 
-	
-	// HS512 is a symmetric algorithm, so we can use the same key for signing and verifying the token.
-	// here we are using a symmetric key, so we can use the same key for signing and verifying the token.
-	// If we want to use asymmetric key, we can use the following code:
-	//private static final Key key = keyPair.getPrivate();
-
-	// key variable here is symmetric key and it is used to sign the JWT token along with verifying the same JWT token
-	// that we recieve from the client side. Here we are merely generating the Key that can be used to sign the token and verify the token.
-	// The key here is curated to be compatable with the HS512 algorithm. However it does not sign any data.
-	// Keys.secretKeyFor(SignatureAlgorithm.HS512) is used to generate a symmetric key for signing the JWT token using HS512 algorithm.
-	// By declaring the key variable as static final, we are making sure that the key is only generated once and is reused for all the JWT tokens.
-	// This is important for security reasons, as it prevents the key from being exposed to the client side.
-	// private identifier prevents it from getting exposed and prevent security vulnerabilities.
-	// The key is used to sign the JWT token, and it is also used to verify the JWT token when it is received from the client side.
-	
+	// When enabled the role names of the user are embedded in the token, see SecurityConstants.JWT_AUTHORITIES_CLAIM.
+	@Value("${security.jwt.stateless-authorities:false}")
+	private boolean statelessAuthorities;
+
+	// Lifetime of the access tokens in milliseconds, the clients renew them through the refresh tokens.
+	@Value("${security.jwt.expiration:" + SecurityConstants.JWT_EXPIRATION + "}")
+	private long expiration = SecurityConstants.JWT_EXPIRATION;
+
+	// Only present with security.audit.enabled=true, the issued tokens are never printed or logged as they are.
+	@Autowired(required = false)
+	private TokenAuditLog tokenAuditLog;
+
+	@Autowired
+	public JWTGenerator(JWTKeyRing keyRing) {
+		this.keyRing = keyRing;
+	}
 
 	/*
 	 * * This method is used to generate a JWT token using the username and the current date.
+	 * With an RS256 or ES256 key ring the kid of the signing key goes into the header.
 	 */
 	public String generateToken(Authentication authentication) {
 		String username = authentication.getName();
 		Date currentDate = new Date();
-		Date expireDate = new Date(currentDate.getTime() + SecurityConstants.JWT_EXPIRATION);
+		Date expireDate = new Date(currentDate.getTime() + expiration);
 		
-		String token = Jwts.builder()
+		JwtBuilder builder = Jwts.builder()
 				.setSubject(username)
 				.setIssuedAt( new Date())
-				.setExpiration(expireDate)
-				.signWith(key,SignatureAlgorithm.HS512) // here we are using HS512 algorithm to sign the JWT token.
+				.setExpiration(expireDate);
+		if (statelessAuthorities) {
+			// the role names are joined in a single compact claim, e.g. "roles": "USER,ADMIN"
+			builder.claim(SecurityConstants.JWT_AUTHORITIES_CLAIM, authentication.getAuthorities().stream()
+					.map(GrantedAuthority::getAuthority)
+					.collect(Collectors.joining(",")));
+		}
+		JWTKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+		if (signingKey.keyId() != null) {
+			builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId());
+		}
+		String token = builder
+				.signWith(signingKey.key(), signingKey.algorithm())
 				.compact();
-		System.out.println("New token :");
-		System.out.println(token);
+		if (tokenAuditLog != null) {
+			tokenAuditLog.tokenIssued(username, currentDate.getTime(), expireDate.getTime(), token);
+		}
 		return token;
 	}
 
@@ -58,24 +82,47 @@ public class JWTGenerator {
 
 
 	public String getUsernameFromJWT(String token){
-		Claims claims = Jwts.parserBuilder()
-				.setSigningKey(key)
-				.build()
-				.parseClaimsJws(token)
-				.getBody();
-		return claims.getSubject();
+		return parser(token).parseClaimsJws(token).getBody().getSubject();
+	}
+
+	/*
+	 * Verifies the signature and the expiry of the token and returns its principal in a single parse.
+	 * validateToken followed by getUsernameFromJWT parses and verifies the same token twice, this method
+	 * does it once with the prebuilt parser of the kid of the token.
+	 * An invalid or expired token is not an exceptional case for the filter, it simply leaves the request
+	 * unauthenticated, so an empty Optional is returned instead of throwing.
+	 */
+	public Optional<JWTPrincipal> parse(String token) {
+		try {
+			Claims claims = parser(token).parseClaimsJws(token).getBody();
+			return Optional.of(new JWTPrincipal(claims.getSubject(), toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()),
+					toAuthorities(claims.get(SecurityConstants.JWT_AUTHORITIES_CLAIM, String.class))));
+		} catch (JwtException | IllegalArgumentException ex) {
+			return Optional.empty();
+		}
 	}
 	
 	public boolean validateToken(String token) {
-		try {
-			Jwts.parserBuilder()
-			.setSigningKey(key)
-			.build()
-			.parseClaimsJws(token);
-			return true;
-		} catch (Exception ex) {
-			throw new AuthenticationCredentialsNotFoundException("JWT was exprired or incorrect",ex.fillInStackTrace());
+		return parse(token).isPresent();
+	}
+
+	private JwtParser parser(String token) {
+		JwtParser parser = keyRing.getParser(token);
+		if (parser == null) {
+			throw new UnsupportedJwtException("The token is not signed with a known key");
+		}
+		return parser;
+	}
+
+	private static Instant toInstant(Date date) {
+		return date == null ? null : date.toInstant();
+	}
+
+	private static List<String> toAuthorities(String authorities) {
+		if (authorities == null) {
+			return null;
 		}
+		return authorities.isEmpty() ? Collections.emptyList() : Arrays.asList(authorities.split(","));
 	}
 
 }
@@ -0,0 +1,196 @@
+package com.pokemonreview.api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Component
+public class JWTKeyRing {
+
+    /*
+     * The keys that sign and verify the JWTs, selected with security.jwt.algorithm.
+     *
+     * HS512 (the default) signs with a random secret key generated once per JVM, so the tokens of a node are only
+     * valid on that node and only until it restarts.
+     *
+     * RS256 and ES256 load their keys from security.jwt.key-dir, which every node of the fleet shares or receives:
+     * <kid>.public.pem holds an X.509 public key, <kid>.private.pem the PKCS#8 private key. Tokens are signed with
+     * the private key of the active kid (security.jwt.active-key-id, or the greatest kid with a private key when it
+     * is not set) and carry the kid in their header. Any node verifies any token whose kid has a public key, with a
+     * JwtParser prebuilt per kid, so the verifying nodes only need the public keys.
+     *
+     * The directory is read again every security.jwt.key-reload-interval milliseconds. A rotation publishes the new
+     * public key first, then the new private key, and removes the old public key once its last token has expired.
+     */
+
+    public static final String PUBLIC_KEY_SUFFIX = ".public.pem";
+    public static final String PRIVATE_KEY_SUFFIX = ".private.pem";
+
+    private static final Logger logger = LoggerFactory.getLogger(JWTKeyRing.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // generated once so that every HS512 key ring of the JVM signs and verifies with the same key
+    private static final Key generatedKey = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+    private static final JwtParser generatedKeyParser = Jwts.parserBuilder().setSigningKey(generatedKey).build();
+
+    private final SignatureAlgorithm algorithm;
+    private final Path keyDirectory;
+    private final String activeKeyId;
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public JWTKeyRing(@Value("${security.jwt.algorithm:HS512}") String algorithm,
+                      @Value("${security.jwt.key-dir:}") String keyDirectory,
+                      @Value("${security.jwt.active-key-id:}") String activeKeyId) {
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        if (this.algorithm != SignatureAlgorithm.HS512 && this.algorithm != SignatureAlgorithm.RS256
+                && this.algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("Unsupported JWT algorithm " + algorithm + ", use HS512, RS256 or ES256");
+        }
+        if (this.algorithm != SignatureAlgorithm.HS512 && keyDirectory.isEmpty()) {
+            throw new IllegalStateException("security.jwt.key-dir is required for " + algorithm);
+        }
+        this.keyDirectory = keyDirectory.isEmpty() ? null : Paths.get(keyDirectory);
+        this.activeKeyId = activeKeyId.isEmpty() ? null : activeKeyId;
+        this.snapshot = load();
+    }
+
+    // an HS512 key ring with a key generated per JVM, for a JWTGenerator created outside of Spring
+    static JWTKeyRing generated() {
+        return new JWTKeyRing(SignatureAlgorithm.HS512.getValue(), "", "");
+    }
+
+    public SigningKey getSigningKey() {
+        return snapshot.signingKey();
+    }
+
+    /*
+     * Returns the parser for the kid in the header of the token, or null when the kid is unknown.
+     * The header is only decoded to find the kid, the parser verifies the whole token.
+     */
+    public JwtParser getParser(String token) {
+        Snapshot current = snapshot;
+        if (current.defaultParser() != null) {
+            return current.defaultParser();
+        }
+        String keyId = readKeyId(token);
+        return keyId == null ? null : current.parsers().get(keyId);
+    }
+
+    // whether the tokens of this kid, null for a token without one, are still verified by the ring
+    public boolean hasKey(String keyId) {
+        Snapshot current = snapshot;
+        return current.defaultParser() != null || (keyId != null && current.parsers().containsKey(keyId));
+    }
+
+    // keeps the current keys when the directory can not be read or is incomplete
+    @Scheduled(fixedDelayString = "${security.jwt.key-reload-interval:60000}")
+    public void reload() {
+        if (algorithm == SignatureAlgorithm.HS512) {
+            return;
+        }
+        try {
+            snapshot = load();
+        } catch (RuntimeException e) {
+            logger.warn("Could not reload the JWT keys from {}, keeping key {}", keyDirectory, snapshot.signingKey().keyId(), e);
+        }
+    }
+
+    private Snapshot load() {
+        if (algorithm == SignatureAlgorithm.HS512) {
+            return new Snapshot(new SigningKey(null, generatedKey, algorithm), generatedKeyParser, Map.of());
+        }
+
+        Map<String, JwtParser> parsers = new HashMap<>();
+        String signingKeyId = activeKeyId;
+        try (Stream<Path> files = Files.list(keyDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PUBLIC_KEY_SUFFIX)) {
+                    String keyId = name.substring(0, name.length() - PUBLIC_KEY_SUFFIX.length());
+                    PublicKey publicKey = keyFactory().generatePublic(new X509EncodedKeySpec(readPem(file)));
+                    parsers.put(keyId, Jwts.parserBuilder().setSigningKey(publicKey).build());
+                } else if (activeKeyId == null && name.endsWith(PRIVATE_KEY_SUFFIX)) {
+                    String keyId = name.substring(0, name.length() - PRIVATE_KEY_SUFFIX.length());
+                    if (signingKeyId == null || keyId.compareTo(signingKeyId) > 0) {
+                        signingKeyId = keyId;
+                    }
+                }
+            }
+            if (signingKeyId == null) {
+                throw new IllegalStateException("No private key found in " + keyDirectory);
+            }
+            if (!parsers.containsKey(signingKeyId)) {
+                throw new IllegalStateException("No public key found for the signing key " + signingKeyId);
+            }
+            PrivateKey privateKey = keyFactory().generatePrivate(
+                    new PKCS8EncodedKeySpec(readPem(keyDirectory.resolve(signingKeyId + PRIVATE_KEY_SUFFIX))));
+            return new Snapshot(new SigningKey(signingKeyId, privateKey, algorithm), null, Map.copyOf(parsers));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the JWT keys from " + keyDirectory, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWT key in " + keyDirectory, e);
+        }
+    }
+
+    private KeyFactory keyFactory() throws GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm == SignatureAlgorithm.ES256 ? "EC" : "RSA");
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        StringBuilder base64 = new StringBuilder();
+        for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+            if (!line.startsWith("-----")) {
+                base64.append(line.trim());
+            }
+        }
+        return Base64.getDecoder().decode(base64.toString());
+    }
+
+    static String readKeyId(String token) {
+        int headerEnd = token.indexOf('.');
+        if (headerEnd <= 0) {
+            return null;
+        }
+        try {
+            JsonNode keyId = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(0, headerEnd))).get(JwsHeader.KEY_ID);
+            return keyId == null ? null : keyId.asText();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public record SigningKey(String keyId, Key key, SignatureAlgorithm algorithm) {
+    }
+
+    private record Snapshot(SigningKey signingKey, JwtParser defaultParser, Map<String, JwtParser> parsers) {
+    }
+}
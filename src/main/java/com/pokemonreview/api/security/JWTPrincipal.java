@@ -0,0 +1,16 @@
+package com.pokemonreview.api.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Immutable view of a verified JWT token, holding the claims that are needed to authenticate a request.
+ * The authorities are only present when the token was issued with security.jwt.stateless-authorities enabled,
+ * they are null otherwise.
+ */
+public record JWTPrincipal(String subject, Instant issuedAt, Instant expiration, List<String> authorities) {
+
+    public JWTPrincipal {
+        authorities = authorities == null ? null : List.copyOf(authorities);
+    }
+}
@@ -0,0 +1,156 @@
+package com.pokemonreview.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class JWTTokenCache implements MeterBinder {
+
+    /*
+     * The JWTTokenCache keeps the principals of tokens whose signature has already been verified.
+     * The same bearer token is sent with every request of a client, so instead of parsing and
+     * verifying the HS512 signature on each request we verify it once and reuse the principal
+     * until the token expires.
+     *
+     * The tokens are keyed on their SHA-256 digest so the raw tokens are never kept in memory,
+     * and every entry expires once the exp claim of its token has passed. The Caffeine cache is
+     * bounded by SecurityConstants.JWT_CACHE_MAX_ENTRIES and evicts the least valuable entry when
+     * it is full, its maintenance runs on the calling thread in small amortized steps instead of
+     * scanning all entries.
+     */
+
+    private final Cache<String, CachedPrincipal> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final JWTGenerator tokenGenerator;
+    private final JWTKeyRing keyRing;
+
+    @Autowired
+    public JWTTokenCache(JWTGenerator tokenGenerator, JWTKeyRing keyRing) {
+        this(tokenGenerator, keyRing, SecurityConstants.JWT_CACHE_MAX_ENTRIES, Ticker.systemTicker());
+    }
+
+    JWTTokenCache(JWTGenerator tokenGenerator, JWTKeyRing keyRing, int maxEntries, Ticker ticker) {
+        this.tokenGenerator = tokenGenerator;
+        this.keyRing = keyRing;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new TokenExpiry(ticker))
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build();
+    }
+
+    /*
+     * Returns the verified principal of the token, parsing it only when it is not already cached.
+     * An invalid or expired token yields an empty Optional and is never cached.
+     * A cached principal is only served while the key ring still holds the kid that verified it,
+     * so the tokens of a retired key are rejected from the first request after the reload.
+     */
+    public Optional<JWTPrincipal> getPrincipal(String token) {
+        String digest = digest(token);
+
+        CachedPrincipal cachedPrincipal = cache.getIfPresent(digest);
+        if (cachedPrincipal != null) {
+            if (keyRing.hasKey(cachedPrincipal.keyId())) {
+                hits.increment();
+                return Optional.of(cachedPrincipal.principal());
+            }
+            cache.invalidate(digest);
+        }
+
+        misses.increment();
+        Optional<JWTPrincipal> principal = tokenGenerator.parse(token);
+        principal.filter(p -> p.expiration() != null)
+                .ifPresent(p -> cache.put(digest, new CachedPrincipal(p, JWTKeyRing.readKeyId(token))));
+        return principal;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return (int) cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.token.cache.requests", this, JWTTokenCache::getHitCount)
+                .tag("result", "hit")
+                .description("Number of tokens served from the verified token cache")
+                .register(registry);
+        FunctionCounter.builder("jwt.token.cache.requests", this, JWTTokenCache::getMissCount)
+                .tag("result", "miss")
+                .description("Number of tokens that had to be parsed and verified")
+                .register(registry);
+        Gauge.builder("jwt.token.cache.size", this, JWTTokenCache::size)
+                .description("Number of verified tokens currently cached")
+                .register(registry);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // the kid of the token is null for the HS512 key ring, which signs without one
+    private record CachedPrincipal(JWTPrincipal principal, String keyId) {
+    }
+
+    /*
+     * An entry lives until the exp claim of its token, reading it does not extend that.
+     * Caffeine passes the current time of its ticker, which has an arbitrary origin, so the
+     * offset between the wall clock and the ticker is taken once and the exp claim is moved
+     * onto the ticker's time line with it.
+     */
+    private static final class TokenExpiry implements Expiry<String, CachedPrincipal> {
+
+        private final long tickerOffsetNanos;
+
+        TokenExpiry(Ticker ticker) {
+            this.tickerOffsetNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - ticker.read();
+        }
+
+        @Override
+        public long expireAfterCreate(String digest, CachedPrincipal cachedPrincipal, long currentTime) {
+            long expirationNanos = TimeUnit.MILLISECONDS.toNanos(cachedPrincipal.principal().expiration().toEpochMilli());
+            return Math.max(expirationNanos - tickerOffsetNanos - currentTime, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, CachedPrincipal cachedPrincipal, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, cachedPrincipal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, CachedPrincipal cachedPrincipal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.pokemonreview.api.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class LoginRateLimiter implements MeterBinder {
+
+    /*
+     * Token buckets for the login, one per username and one per client IP, checked before the AuthenticationManager
+     * so a credential stuffing burst is turned away before it costs any bcrypt work.
+     *
+     * Every bucket is a single AtomicLong holding the time at which it is full again (the generic cell rate
+     * algorithm): a login moves that time one refill interval ahead with a CAS and is rejected when it would end
+     * up more than capacity intervals ahead. After its first login a key costs no allocation and no lock.
+     * A bucket whose time has passed is full, so the periodic sweep can drop it without changing any limit.
+     *
+     * The client IP is the remote address of the request. Behind a proxy, server.forward-headers-strategy has to be
+     * set so that it is the address of the client and not the one of the proxy.
+     * The number of buckets is bounded by security.login.rate-limit.max-entries. A key that does not fit any more
+     * shares one overflow bucket of the same capacity with all other such keys until the sweep makes room again, so
+     * rotating usernames or addresses to fill the map slows the attacker down further instead of lifting the limit.
+     */
+
+    private final Map<String, AtomicLong> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> ipBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong usernameOverflowBucket = new AtomicLong(System.nanoTime());
+    private final AtomicLong ipOverflowBucket = new AtomicLong(System.nanoTime());
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+    private final long usernameInterval;
+    private final long usernameLimit;
+    private final long ipInterval;
+    private final long ipLimit;
+    private final int maxEntries;
+
+    public LoginRateLimiter(@Value("${security.login.rate-limit.username-capacity:5}") int usernameCapacity,
+                            @Value("${security.login.rate-limit.username-refill-interval:12000}") long usernameRefillInterval,
+                            @Value("${security.login.rate-limit.ip-capacity:20}") int ipCapacity,
+                            @Value("${security.login.rate-limit.ip-refill-interval:3000}") long ipRefillInterval,
+                            @Value("${security.login.rate-limit.max-entries:100000}") int maxEntries) {
+        this.usernameInterval = TimeUnit.MILLISECONDS.toNanos(usernameRefillInterval);
+        this.usernameLimit = usernameInterval * usernameCapacity;
+        this.ipInterval = TimeUnit.MILLISECONDS.toNanos(ipRefillInterval);
+        this.ipLimit = ipInterval * ipCapacity;
+        this.maxEntries = maxEntries;
+    }
+
+    /*
+     * Takes a token from the bucket of the client IP and from the one of the username.
+     * Returns 0 when the login may go ahead, otherwise the milliseconds until the client may try again.
+     */
+    public long tryAcquire(String username, String clientIp) {
+        long now = System.nanoTime();
+        long wait = acquire(ipBuckets, ipOverflowBucket, clientIp, ipInterval, ipLimit, now);
+        if (wait == 0) {
+            wait = acquire(usernameBuckets, usernameOverflowBucket, username, usernameInterval, usernameLimit, now);
+        }
+        if (wait == 0) {
+            allowed.increment();
+            return 0;
+        }
+        rejected.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+    }
+
+    // drops the buckets that are full again, a new bucket for the same key starts full as well
+    @Scheduled(fixedDelayString = "${security.login.rate-limit.sweep-interval:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        usernameBuckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        ipBuckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getOverflowCount() {
+        return overflow.sum();
+    }
+
+    public int size() {
+        return usernameBuckets.size() + ipBuckets.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("login.rate.limit.requests", this, LoginRateLimiter::getAllowedCount)
+                .tag("result", "allowed")
+                .description("Number of logins let through by the rate limiter")
+                .register(registry);
+        FunctionCounter.builder("login.rate.limit.requests", this, LoginRateLimiter::getRejectedCount)
+                .tag("result", "rejected")
+                .description("Number of logins rejected by the rate limiter")
+                .register(registry);
+        FunctionCounter.builder("login.rate.limit.overflow", this, LoginRateLimiter::getOverflowCount)
+                .description("Number of logins checked against the shared overflow bucket because there was no room for their own")
+                .register(registry);
+        Gauge.builder("login.rate.limit.buckets", this, LoginRateLimiter::size)
+                .description("Number of username and client IP buckets currently tracked")
+                .register(registry);
+    }
+
+    // returns 0 when a token was taken, otherwise the nanoseconds until the next token
+    private long acquire(Map<String, AtomicLong> buckets, AtomicLong overflowBucket, String key, long interval, long limit, long now) {
+        String bucketKey = key == null ? "" : key;
+        AtomicLong bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                overflow.increment();
+                bucket = overflowBucket;
+            } else {
+                bucket = buckets.computeIfAbsent(bucketKey, k -> new AtomicLong(now));
+            }
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now < 0 ? now : fullAt) + interval;
+            if (next - now > limit) {
+                return next - now - limit;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.pokemonreview.api.security;
+
+import com.pokemonreview.api.exceptions.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class PasswordHashingExecutor implements MeterBinder {
+
+    /*
+     * Runs the bcrypt work of the login (the password check of the AuthenticationManager) and of the registration
+     * (PasswordEncoder.encode) on its own small pool instead of the request threads. bcrypt is pure CPU, so the
+     * pool has one thread per core by default and a login storm can no longer occupy every Tomcat thread and stall
+     * the unrelated requests.
+     *
+     * The queue in front of the pool is bounded by security.password.hashing.queue-capacity. Once it is full the
+     * work is rejected right away with a PasswordHashingRejectedException, which the API answers with a 503 and a
+     * Retry-After header, instead of letting the logins wait longer than any client would.
+     *
+     * The pool is deliberately not an Executor bean: Spring Boot only creates the applicationTaskExecutor (used by
+     * Spring MVC async requests and the review deletes) when the context has no Executor bean at all.
+     */
+
+    public static final String REJECTED_MESSAGE = "Too many logins in progress, try again later";
+
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final LongAdder rejected = new LongAdder();
+
+    // the SqlStatementCounter of the servlet stack, so the user lookup of the login counts for its request
+    @Autowired(required = false)
+    private TaskDecorator taskDecorator;
+
+    public PasswordHashingExecutor(@Value("${security.password.hashing.threads:0}") int threads,
+                                   @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    rejected.increment();
+                    throw new PasswordHashingRejectedException(REJECTED_MESSAGE);
+                });
+        scheduler = Schedulers.fromExecutor(executor);
+    }
+
+    /*
+     * Runs the task on the hashing pool. The PasswordHashingRejectedException of a full queue is thrown by this
+     * call, not through the returned future, so the request fails before any async processing started.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, this::execute);
+    }
+
+    // the same pool for the reactive stack, a full queue fails the subscription with the PasswordHashingRejectedException
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    private void execute(Runnable command) {
+        executor.execute(taskDecorator == null ? command : taskDecorator.decorate(command));
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(registry);
+        FunctionCounter.builder("password.hashing.rejected", this, PasswordHashingExecutor::getRejectedCount)
+                .description("Number of password hashing tasks rejected because the queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,4 +3,8 @@ package com.pokemonreview.api.security;
 
 public class SecurityConstants {
     public static final long JWT_EXPIRATION = 70000;
+    public static final String JWT_AUTHORITIES_CLAIM = "roles";
+    public static final int JWT_CACHE_MAX_ENTRIES = 10000;
+    public static final long USER_DETAILS_CACHE_TTL = 60000;
+    public static final int USER_DETAILS_CACHE_MAX_ENTRIES = 10000;
 }
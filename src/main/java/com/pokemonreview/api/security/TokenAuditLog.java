@@ -0,0 +1,228 @@
+package com.pokemonreview.api.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+@ConditionalOnProperty(name = "security.audit.enabled", havingValue = "true")
+public class TokenAuditLog implements MeterBinder {
+
+    /*
+     * Opt-in audit of the issued access tokens, enabled with security.audit.enabled=true.
+     * The JWTGenerator only puts a sampled event in an AuditRingBuffer, it never blocks and never touches the file.
+     * A background writer thread drains the ring into security.audit.file, which is rolled over once it is larger
+     * than security.audit.max-file-size (file.1 is the newest rolled file, at most security.audit.max-files are kept).
+     *
+     * An event holds the username, the issue and expiry times and a short SHA-256 fingerprint of the token, never the
+     * token itself. Events that find the ring full are dropped and counted, like the ones that fail to be written.
+     */
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int FINGERPRINT_BYTES = 8;
+
+    private final AuditRingBuffer<AuditEvent> ring;
+    private final double sampleRate;
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running;
+    private Thread writerThread;
+    private BufferedWriter writer;
+    private long fileSize;
+
+    public TokenAuditLog(@Value("${security.audit.sample-rate:1.0}") double sampleRate,
+                         @Value("${security.audit.file:logs/token-audit.log}") String file,
+                         @Value("${security.audit.max-file-size:10485760}") long maxFileSize,
+                         @Value("${security.audit.max-files:5}") int maxFiles,
+                         @Value("${security.audit.queue-capacity:8192}") int queueCapacity) {
+        this.ring = new AuditRingBuffer<>(queueCapacity);
+        this.sampleRate = sampleRate;
+        this.file = Paths.get(file);
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+    }
+
+    // called on the request thread for every issued token
+    public void tokenIssued(String username, long issuedAt, long expiresAt, String token) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (ring.offer(new AuditEvent(username, issuedAt, expiresAt, token))) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        openFile();
+        running = true;
+        writerThread = new Thread(this::drain, "token-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // writes out the events still in the ring before the file is closed
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("token.audit.events", this, TokenAuditLog::getRecordedCount)
+                .tag("result", "recorded")
+                .description("Number of token audit events queued for the audit file")
+                .register(registry);
+        FunctionCounter.builder("token.audit.events", this, TokenAuditLog::getDroppedCount)
+                .tag("result", "dropped")
+                .description("Number of token audit events dropped because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("token.audit.events", this, TokenAuditLog::getFailedCount)
+                .tag("result", "failed")
+                .description("Number of token audit events that could not be written")
+                .register(registry);
+        Gauge.builder("token.audit.queue.size", ring, AuditRingBuffer::size)
+                .description("Number of token audit events waiting for the writer")
+                .register(registry);
+    }
+
+    private void drain() {
+        while (true) {
+            AuditEvent event = ring.poll();
+            if (event != null) {
+                write(event);
+                continue;
+            }
+            flush();
+            if (!running && ring.size() == 0) {
+                break;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            failed.increment();
+        }
+    }
+
+    private void write(AuditEvent event) {
+        String line = Instant.ofEpochMilli(event.issuedAt) + " token issued user=" + sanitize(event.username)
+                + " expires=" + Instant.ofEpochMilli(event.expiresAt) + " fingerprint=" + fingerprint(event.token)
+                + System.lineSeparator();
+        try {
+            if (fileSize + line.length() > maxFileSize && fileSize > 0) {
+                rollOver();
+            }
+            writer.write(line);
+            fileSize += line.length();
+        } catch (IOException | UncheckedIOException e) {
+            failed.increment();
+        }
+    }
+
+    private void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            failed.increment();
+        }
+    }
+
+    private void rollOver() throws IOException {
+        writer.close();
+        Files.deleteIfExists(rolledFile(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rolledFile(i))) {
+                Files.move(rolledFile(i), rolledFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolledFile(1), StandardCopyOption.REPLACE_EXISTING);
+        openFile();
+    }
+
+    private Path rolledFile(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void openFile() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fileSize = Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the token audit file " + file, e);
+        }
+    }
+
+    // a username must not be able to forge audit lines
+    private static String sanitize(String username) {
+        return username == null ? "" : username.replace('\n', '_').replace('\r', '_').replace(' ', '_');
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            StringBuilder fingerprint = new StringBuilder(FINGERPRINT_BYTES * 2);
+            for (int i = 0; i < FINGERPRINT_BYTES; i++) {
+                fingerprint.append(String.format("%02x", digest[i]));
+            }
+            return fingerprint.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record AuditEvent(String username, long issuedAt, long expiresAt, String token) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.pokemonreview.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    /*
+     * The UserDetailsCache decorates the CustomUserDetailsService for the JWTAuthenticationFilter.
+     * Every authenticated request needs the UserDetails of the token subject, loading them means a query on the
+     * users table plus the EAGER join on user_roles/roles, so the loaded UserDetails are kept for
+     * SecurityConstants.USER_DETAILS_CACHE_TTL milliseconds. Like the JWTTokenCache it is a Caffeine cache bounded by
+     * SecurityConstants.USER_DETAILS_CACHE_MAX_ENTRIES.
+     *
+     * It is deliberately not a UserDetailsService bean: Spring Security only wires the DaoAuthenticationProvider
+     * used by the login when there is exactly one UserDetailsService bean, and the login has to verify the
+     * password against the database anyway.
+     *
+     * Whenever a user or its roles change, evict (or evictAll) has to be called so the next request reloads them.
+     */
+
+    private final Cache<String, UserDetails> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    public UserDetailsCache(CustomUserDetailsService userDetailsService) {
+        this(userDetailsService, SecurityConstants.USER_DETAILS_CACHE_TTL, SecurityConstants.USER_DETAILS_CACHE_MAX_ENTRIES);
+    }
+
+    UserDetailsCache(CustomUserDetailsService userDetailsService, long ttl, int maxEntries) {
+        this(userDetailsService, ttl, maxEntries, Ticker.systemTicker());
+    }
+
+    UserDetailsCache(CustomUserDetailsService userDetailsService, long ttl, int maxEntries, Ticker ticker) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build();
+    }
+
+    /*
+     * Returns the cached UserDetails of the user, loading them from the database when they are missing or expired.
+     * Unknown users are not cached, the UsernameNotFoundException is thrown on every call.
+     */
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cachedUser = cache.getIfPresent(username);
+        if (cachedUser != null) {
+            hits.increment();
+            return cachedUser;
+        }
+
+        misses.increment();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        cache.put(username, userDetails);
+        return userDetails;
+    }
+
+    /*
+     * Returns the UserDetails only when they are cached and not expired, without ever touching the database.
+     * The reactive JWTWebFilter uses it to stay on the event loop for cached users.
+     */
+    public Optional<UserDetails> getIfPresent(String username) {
+        Optional<UserDetails> cachedUser = Optional.ofNullable(cache.getIfPresent(username));
+        cachedUser.ifPresent(userDetails -> hits.increment());
+        return cachedUser;
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        return (int) cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.details.cache.requests", this, UserDetailsCache::getHitCount)
+                .tag("result", "hit")
+                .description("Number of UserDetails served from the cache")
+                .register(registry);
+        FunctionCounter.builder("user.details.cache.requests", this, UserDetailsCache::getMissCount)
+                .tag("result", "miss")
+                .description("Number of UserDetails loaded from the database")
+                .register(registry);
+        Gauge.builder("user.details.cache.hit.ratio", this, UserDetailsCache::getHitRatio)
+                .description("Ratio of UserDetails lookups served from the cache")
+                .register(registry);
+        Gauge.builder("user.details.cache.size", this, UserDetailsCache::size)
+                .description("Number of UserDetails currently cached")
+                .register(registry);
+    }
+}
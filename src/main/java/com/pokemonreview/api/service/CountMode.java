@@ -0,0 +1,12 @@
+package com.pokemonreview.api.service;
+
+/*
+ * How the totals of a pokemon page are computed:
+ * EXACT runs a count query for every page, NONE omits the totals and APPROXIMATE fills them from a
+ * periodically refreshed counter.
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    APPROXIMATE
+}
@@ -0,0 +1,11 @@
+package com.pokemonreview.api.service;
+
+/*
+ * State of a review delete: RUNNING while a background job deletes batches, COMPLETED once every review
+ * (and the pokemon when requested) is gone and FAILED when a batch failed, the batches before it stay deleted.
+ */
+public enum DeleteJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
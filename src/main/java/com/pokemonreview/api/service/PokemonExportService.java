@@ -0,0 +1,8 @@
+package com.pokemonreview.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PokemonExportService {
+    void exportAll(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.PokemonRankDto;
+
+import java.util.List;
+
+public interface PokemonLeaderboardService {
+    List<PokemonRankDto> getTopRated(String type, int limit);
+    void ratingChanged(int pokemonId, long reviewCount, long starsSum);
+    void pokemonUpdated(int pokemonId, String name, String type);
+    void pokemonRemoved(int pokemonId);
+    void reconcile();
+}
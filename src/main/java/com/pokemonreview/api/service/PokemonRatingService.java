@@ -0,0 +1,20 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.PokemonRatingDto;
+import com.pokemonreview.api.models.PokemonRating;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PokemonRatingService {
+    PokemonRatingDto getRating(int pokemonId);
+    void reviewAdded(int pokemonId, int stars);
+    void ratingsAdded(Collection<PokemonRating> deltas);
+    void reviewChanged(int pokemonId, int oldStars, int newStars);
+    void reviewRemoved(int pokemonId, int stars);
+    void reviewsRemoved(int pokemonId, List<Integer> stars);
+    void reviewsCleared(int pokemonId);
+    void lockRating(int pokemonId);
+    void deleteRating(int pokemonId);
+    void createRating(int pokemonId);
+}
@@ -8,6 +8,8 @@ import java.util.List;
 public interface PokemonService {
     PokemonDto createPokemon(PokemonDto pokemonDto);
     PokemonResponse getAllPokemon(int pageNo, int pageSize);
+    PokemonResponse getAllPokemon(int pageNo, int pageSize, CountMode countMode);
+    PokemonResponse getAllPokemonAfter(String cursor, int pageSize);
     PokemonDto getPokemonById(int id);
     PokemonDto updatePokemon(PokemonDto pokemonDto, int id);
     void deletePokemonId(int id);
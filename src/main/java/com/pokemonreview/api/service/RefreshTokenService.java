@@ -0,0 +1,9 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.AuthResponseDTO;
+
+public interface RefreshTokenService {
+    String createRefreshToken(String username);
+    AuthResponseDTO refresh(String refreshToken);
+    void deleteExpiredTokens();
+}
@@ -0,0 +1,9 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewDeleteJobDto;
+
+public interface ReviewDeleteService {
+    ReviewDeleteJobDto deleteReviewsByPokemonId(int pokemonId);
+    ReviewDeleteJobDto startDeleteJob(int pokemonId, boolean deletePokemon);
+    ReviewDeleteJobDto getDeleteJob(String jobId);
+}
@@ -0,0 +1,10 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewImportDto;
+import com.pokemonreview.api.dto.ReviewImportResponse;
+
+import java.util.Iterator;
+
+public interface ReviewImportService {
+    ReviewImportResponse importReviews(Iterator<ReviewImportDto> reviews);
+}
@@ -1,12 +1,15 @@
 package com.pokemonreview.api.service;
 
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewResponse;
 
 import java.util.List;
 
 public interface ReviewService {
     ReviewDto createReview(int pokemonId, ReviewDto reviewDto);
     List<ReviewDto> getReviewsByPokemonId(int id);
+    ReviewResponse getReviewsByPokemonId(int id, int pageNo, int pageSize, ReviewSort sort);
+    ReviewResponse getReviewsByPokemonIdAfter(int id, String cursor, int pageSize, ReviewSort sort);
     ReviewDto getReviewById(int reviewId, int pokemonId);
     ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto);
     void deleteReview(int pokemonId, int reviewId);
@@ -0,0 +1,10 @@
+package com.pokemonreview.api.service;
+
+/*
+ * Order of a review listing: ID by ascending id, STARS by descending stars and then descending id.
+ * Both orders are served by an index on the pokemon id of the review.
+ */
+public enum ReviewSort {
+    ID,
+    STARS
+}
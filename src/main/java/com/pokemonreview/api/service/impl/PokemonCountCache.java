@@ -0,0 +1,48 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.repository.PokemonRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class PokemonCountCache {
+
+    /*
+     * Approximate number of pokemon, used by CountMode.APPROXIMATE instead of a count query per page.
+     * It is recounted every pokemon.count.refresh-interval milliseconds and adjusted in between by the
+     * creates and deletes of this instance, so it only drifts by the writes of other instances.
+     */
+
+    private final AtomicLong count = new AtomicLong(-1);
+    private PokemonRepository pokemonRepository;
+
+    @Autowired
+    public PokemonCountCache(PokemonRepository pokemonRepository) {
+        this.pokemonRepository = pokemonRepository;
+    }
+
+    public long get() {
+        long current = count.get();
+        if (current < 0) {
+            refresh();
+            current = count.get();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${pokemon.count.refresh-interval:30000}")
+    public void refresh() {
+        count.set(pokemonRepository.count());
+    }
+
+    public void increment() {
+        count.updateAndGet(current -> current < 0 ? current : current + 1);
+    }
+
+    public void decrement() {
+        count.updateAndGet(current -> current <= 0 ? current : current - 1);
+    }
+}
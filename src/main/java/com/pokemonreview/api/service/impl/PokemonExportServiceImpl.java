@@ -0,0 +1,103 @@
+package com.pokemonreview.api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.dto.PokemonExportDto;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.PokemonExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class PokemonExportServiceImpl implements PokemonExportService {
+
+    /*
+     * Writes every pokemon with its reviews as one JSON object per line (NDJSON).
+     * The pokemon are read through a forward-only cursor and handled in batches of pokemon.export.batch-size:
+     * the reviews of a batch are loaded with a single IN query, the lines are written and the persistence
+     * context is cleared, so memory stays flat whatever the size of the tables.
+     */
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private PokemonRepository pokemonRepository;
+    private ReviewRepository reviewRepository;
+    private ObjectMapper objectMapper;
+    private int batchSize;
+
+    @Autowired
+    public PokemonExportServiceImpl(PokemonRepository pokemonRepository, ReviewRepository reviewRepository,
+                                    ObjectMapper objectMapper, @Value("${pokemon.export.batch-size:500}") int batchSize) {
+        this.pokemonRepository = pokemonRepository;
+        this.reviewRepository = reviewRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream outputStream) throws IOException {
+        try (Stream<Pokemon> pokemons = pokemonRepository.streamAll()) {
+            Iterator<Pokemon> iterator = pokemons.iterator();
+            List<Pokemon> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, outputStream);
+                }
+            }
+            writeBatch(batch, outputStream);
+        }
+        outputStream.flush();
+    }
+
+    private void writeBatch(List<Pokemon> batch, OutputStream outputStream) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Integer> pokemonIds = batch.stream().map(Pokemon::getId).collect(Collectors.toList());
+        Map<Integer, List<ReviewDto>> reviewsByPokemonId = reviewRepository.findByPokemonIdIn(pokemonIds).stream()
+                .collect(Collectors.groupingBy(review -> review.getPokemon().getId(),
+                        Collectors.mapping(review -> mapToDto(review), Collectors.toList())));
+
+        for (Pokemon pokemon : batch) {
+            PokemonExportDto pokemonExportDto = new PokemonExportDto();
+            pokemonExportDto.setId(pokemon.getId());
+            pokemonExportDto.setName(pokemon.getName());
+            pokemonExportDto.setType(pokemon.getType());
+            pokemonExportDto.setReviews(reviewsByPokemonId.getOrDefault(pokemon.getId(), Collections.emptyList()));
+            outputStream.write(objectMapper.writeValueAsBytes(pokemonExportDto));
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+
+        batch.clear();
+        entityManager.clear();
+    }
+
+    private ReviewDto mapToDto(Review review) {
+        ReviewDto reviewDto = new ReviewDto();
+        reviewDto.setId(review.getId());
+        reviewDto.setTitle(review.getTitle());
+        reviewDto.setContent(review.getContent());
+        reviewDto.setStars(review.getStars());
+        return reviewDto;
+    }
+}
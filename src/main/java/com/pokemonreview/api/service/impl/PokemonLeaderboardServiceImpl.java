@@ -0,0 +1,162 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.PokemonRankDto;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Service
+public class PokemonLeaderboardServiceImpl implements PokemonLeaderboardService {
+
+    /*
+     * Keeps every pokemon with at least one review in a skip list per type, ordered by average stars, then by
+     * review count and id. Reads walk the head of the skip list without locking. Writes are serialized and only
+     * applied after the transaction of the review write commits, so a rolled back write never shows up here.
+     *
+     * The index is rebuilt from the pokemon_rating table every pokemon.leaderboard.refresh-interval milliseconds,
+     * which brings in the writes of other instances and repairs any update that raced with the previous rebuild.
+     */
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::averageStars).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::reviewCount).reversed())
+            .thenComparingInt(Entry::id);
+
+    private PokemonRatingRepository pokemonRatingRepository;
+    private PokemonRepository pokemonRepository;
+    private volatile Index index = new Index();
+
+    @Autowired
+    public PokemonLeaderboardServiceImpl(PokemonRatingRepository pokemonRatingRepository, PokemonRepository pokemonRepository) {
+        this.pokemonRatingRepository = pokemonRatingRepository;
+        this.pokemonRepository = pokemonRepository;
+    }
+
+    @Override
+    public List<PokemonRankDto> getTopRated(String type, int limit) {
+        NavigableSet<Entry> ranking = index.byType.get(type);
+        if (ranking == null) {
+            return List.of();
+        }
+        return ranking.stream()
+                .limit(Math.max(1, Math.min(limit, MAX_LIMIT)))
+                .map(entry -> mapToDto(entry))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void ratingChanged(int pokemonId, long reviewCount, long starsSum) {
+        Entry current = index.byId.get(pokemonId);
+        if (current != null) {
+            afterCommit(() -> put(new Entry(pokemonId, current.name(), current.type(), reviewCount, starsSum)));
+            return;
+        }
+        // first review of a pokemon, the pokemon is usually served by the second-level cache
+        pokemonRepository.findById(pokemonId).ifPresent(pokemon ->
+                afterCommit(() -> put(new Entry(pokemonId, pokemon.getName(), pokemon.getType(), reviewCount, starsSum))));
+    }
+
+    @Override
+    public void pokemonUpdated(int pokemonId, String name, String type) {
+        afterCommit(() -> {
+            synchronized (this) {
+                Entry current = index.byId.get(pokemonId);
+                if (current != null) {
+                    put(new Entry(pokemonId, name, type, current.reviewCount(), current.starsSum()));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void pokemonRemoved(int pokemonId) {
+        afterCommit(() -> remove(pokemonId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${pokemon.leaderboard.refresh-interval:60000}")
+    public void reconcile() {
+        Index rebuilt = new Index();
+        for (PokemonRatingRepository.RankRow row : pokemonRatingRepository.findAllRanks()) {
+            rebuilt.add(new Entry(row.getId(), row.getName(), row.getType(), row.getReviewCount(), row.getStarsSum()));
+        }
+        synchronized (this) {
+            index = rebuilt;
+        }
+    }
+
+    private synchronized void put(Entry entry) {
+        Index current = index;
+        current.remove(entry.id());
+        if (entry.reviewCount() > 0) {
+            current.add(entry);
+        }
+    }
+
+    private synchronized void remove(int pokemonId) {
+        index.remove(pokemonId);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private PokemonRankDto mapToDto(Entry entry) {
+        PokemonRankDto pokemonRankDto = new PokemonRankDto();
+        pokemonRankDto.setId(entry.id());
+        pokemonRankDto.setName(entry.name());
+        pokemonRankDto.setType(entry.type());
+        pokemonRankDto.setReviewCount(entry.reviewCount());
+        pokemonRankDto.setAverageStars(entry.averageStars());
+        return pokemonRankDto;
+    }
+
+    private record Entry(int id, String name, String type, long reviewCount, long starsSum) {
+        double averageStars() {
+            return reviewCount == 0 ? 0 : (double) starsSum / reviewCount;
+        }
+    }
+
+    private static class Index {
+        private final Map<String, NavigableSet<Entry>> byType = new ConcurrentHashMap<>();
+        private final Map<Integer, Entry> byId = new ConcurrentHashMap<>();
+
+        private void add(Entry entry) {
+            if (entry.type() == null) {
+                return;
+            }
+            byId.put(entry.id(), entry);
+            byType.computeIfAbsent(entry.type(), type -> new ConcurrentSkipListSet<>(RANKING)).add(entry);
+        }
+
+        private void remove(int pokemonId) {
+            Entry entry = byId.remove(pokemonId);
+            if (entry != null) {
+                byType.get(entry.type()).remove(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.PokemonRatingDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.models.PokemonRating;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import com.pokemonreview.api.service.PokemonRatingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Service
+public class PokemonRatingServiceImpl implements PokemonRatingService {
+
+    /*
+     * The write methods join the transaction of the review write that calls them. The rating row is locked
+     * with SELECT ... FOR UPDATE so concurrent reviews of the same pokemon never lose an increment. Every change
+     * is passed on to the leaderboard.
+     *
+     * The row is created with the pokemon. A pokemon without one (created before the ratings existed, or by SQL)
+     * gets its row seeded from its reviews: for all of them once the application is ready, for a single pokemon
+     * by the first review write that finds no row. That seed runs in the transaction of the write, after its
+     * review changes were flushed, so the seeded row already contains the change and its delta is not applied
+     * again. No second connection is needed; when two writers seed the same pokemon at once the insert of the
+     * later one violates the primary key and that write rolls back.
+     */
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonRatingServiceImpl.class);
+    private static final int SEED_ATTEMPTS = 3;
+
+    private PokemonRatingRepository pokemonRatingRepository;
+    private PokemonRepository pokemonRepository;
+    private PokemonLeaderboardService pokemonLeaderboardService;
+    private TransactionTemplate seedTransaction;
+
+    @Autowired
+    public PokemonRatingServiceImpl(PokemonRatingRepository pokemonRatingRepository, PokemonRepository pokemonRepository,
+                                    PokemonLeaderboardService pokemonLeaderboardService,
+                                    PlatformTransactionManager transactionManager) {
+        this.pokemonRatingRepository = pokemonRatingRepository;
+        this.pokemonRepository = pokemonRepository;
+        this.pokemonLeaderboardService = pokemonLeaderboardService;
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PokemonRatingDto getRating(int pokemonId) {
+        PokemonRating pokemonRating = pokemonRatingRepository.findById(pokemonId).orElseGet(() -> {
+            if (!pokemonRepository.existsById(pokemonId)) {
+                throw new PokemonNotFoundException("Pokemon could not be found");
+            }
+            return new PokemonRating(pokemonId);
+        });
+        return mapToDto(pokemonRating);
+    }
+
+    @Override
+    @Transactional
+    public void reviewAdded(int pokemonId, int stars) {
+        updateRating(pokemonId, pokemonRating -> pokemonRating.add(stars, 1));
+    }
+
+    /*
+     * Ratings are locked in pokemon id order, so two callers that each lock several ratings (the imports, which
+     * call this once right before they commit) always lock them in the same order and can not deadlock.
+     */
+    @Override
+    @Transactional
+    public void ratingsAdded(Collection<PokemonRating> deltas) {
+        deltas.stream()
+                .sorted(Comparator.comparingInt(PokemonRating::getPokemonId))
+                .forEach(delta -> updateRating(delta.getPokemonId(), pokemonRating -> pokemonRating.add(delta)));
+    }
+
+    @Override
+    @Transactional
+    public void reviewChanged(int pokemonId, int oldStars, int newStars) {
+        if (oldStars == newStars) {
+            return;
+        }
+        updateRating(pokemonId, pokemonRating -> {
+            pokemonRating.add(oldStars, -1);
+            pokemonRating.add(newStars, 1);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void reviewRemoved(int pokemonId, int stars) {
+        updateRating(pokemonId, pokemonRating -> pokemonRating.add(stars, -1));
+    }
+
+    @Override
+    @Transactional
+    public void reviewsRemoved(int pokemonId, List<Integer> stars) {
+        updateRating(pokemonId, pokemonRating -> stars.forEach(star -> pokemonRating.add(star, -1)));
+    }
+
+    // after a set-based delete of every review of the pokemon, lockRating has to be called before that delete
+    @Override
+    @Transactional
+    public void reviewsCleared(int pokemonId) {
+        updateRating(pokemonId, PokemonRating::reset);
+    }
+
+    /*
+     * Bulk deletes lock the rating row before they read or delete any review, review writes of the pokemon
+     * lock it as well, so they either commit before the delete sees their review or wait until it is done.
+     */
+    @Override
+    @Transactional
+    public void lockRating(int pokemonId) {
+        if (pokemonRatingRepository.findByIdForUpdate(pokemonId).isEmpty()) {
+            seedRating(pokemonId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteRating(int pokemonId) {
+        pokemonRatingRepository.deleteByPokemonId(pokemonId);
+    }
+
+    // in the transaction of createPokemon, nobody can review the pokemon before its rating exists
+    @Override
+    @Transactional
+    public void createRating(int pokemonId) {
+        pokemonRatingRepository.save(new PokemonRating(pokemonId));
+    }
+
+    // returns the number of ratings seeded, the leaderboard is rebuilt when there were any
+    @EventListener(ApplicationReadyEvent.class)
+    public int seedMissingRatings() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                int seeded = seedTransaction.execute(status -> pokemonRatingRepository.insertAllMissingFromReviews());
+                if (seeded > 0) {
+                    logger.info("Seeded the ratings of {} pokemon from their reviews", seeded);
+                    pokemonLeaderboardService.reconcile();
+                }
+                return seeded;
+            } catch (DataIntegrityViolationException e) {
+                // a review write seeded one of the ratings meanwhile, the next attempt skips it
+                if (attempt == SEED_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // a seeded row is computed from the reviews as they are after the change, so the change is only applied to a locked row
+    private void updateRating(int pokemonId, Consumer<PokemonRating> change) {
+        Optional<PokemonRating> lockedRating = pokemonRatingRepository.findByIdForUpdate(pokemonId);
+        PokemonRating pokemonRating;
+        if (lockedRating.isPresent()) {
+            pokemonRating = lockedRating.get();
+            change.accept(pokemonRating);
+        } else {
+            pokemonRating = seedRating(pokemonId);
+        }
+        ratingChanged(pokemonRating);
+    }
+
+    // the query on the reviews flushes the pending review changes of the transaction first
+    private PokemonRating seedRating(int pokemonId) {
+        return pokemonRatingRepository.saveAndFlush(seededRating(pokemonId));
+    }
+
+    private PokemonRating seededRating(int pokemonId) {
+        PokemonRatingRepository.RatingRow row = pokemonRatingRepository.computeFromReviews(pokemonId);
+        PokemonRating pokemonRating = new PokemonRating(pokemonId);
+        pokemonRating.setReviewCount(row.getReviewCount());
+        pokemonRating.setStarsSum(row.getStarsSum());
+        pokemonRating.setOneStar(row.getOneStar());
+        pokemonRating.setTwoStars(row.getTwoStars());
+        pokemonRating.setThreeStars(row.getThreeStars());
+        pokemonRating.setFourStars(row.getFourStars());
+        pokemonRating.setFiveStars(row.getFiveStars());
+        return pokemonRating;
+    }
+
+    private void ratingChanged(PokemonRating pokemonRating) {
+        pokemonLeaderboardService.ratingChanged(pokemonRating.getPokemonId(), pokemonRating.getReviewCount(),
+                pokemonRating.getStarsSum());
+    }
+
+    private PokemonRatingDto mapToDto(PokemonRating pokemonRating) {
+        PokemonRatingDto pokemonRatingDto = new PokemonRatingDto();
+        pokemonRatingDto.setPokemonId(pokemonRating.getPokemonId());
+        pokemonRatingDto.setReviewCount(pokemonRating.getReviewCount());
+        pokemonRatingDto.setAverageStars(pokemonRating.getReviewCount() == 0 ? 0
+                : (double) pokemonRating.getStarsSum() / pokemonRating.getReviewCount());
+        pokemonRatingDto.setOneStar(pokemonRating.getOneStar());
+        pokemonRatingDto.setTwoStars(pokemonRating.getTwoStars());
+        pokemonRatingDto.setThreeStars(pokemonRating.getThreeStars());
+        pokemonRatingDto.setFourStars(pokemonRating.getFourStars());
+        pokemonRatingDto.setFiveStars(pokemonRating.getFiveStars());
+        return pokemonRatingDto;
+    }
+}
@@ -1,36 +1,72 @@
 package com.pokemonreview.api.service.impl;
 
+import com.pokemonreview.api.config.CacheConfig;
 import com.pokemonreview.api.dto.PokemonDto;
 import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
 import com.pokemonreview.api.exceptions.PokemonNotFoundException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.CountMode;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import com.pokemonreview.api.service.PokemonRatingService;
 import com.pokemonreview.api.service.PokemonService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class PokemonServiceImpl implements PokemonService {
     private PokemonRepository pokemonRepository;
+    private ReviewRepository reviewRepository;
+    private PokemonCountCache pokemonCountCache;
+    private PokemonRatingService pokemonRatingService;
+    private PokemonLeaderboardService pokemonLeaderboardService;
 
     @Autowired
-    public PokemonServiceImpl(PokemonRepository pokemonRepository) {
+    public PokemonServiceImpl(PokemonRepository pokemonRepository, ReviewRepository reviewRepository,
+                              PokemonCountCache pokemonCountCache, PokemonRatingService pokemonRatingService,
+                              PokemonLeaderboardService pokemonLeaderboardService) {
         this.pokemonRepository = pokemonRepository;
+        this.reviewRepository = reviewRepository;
+        this.pokemonCountCache = pokemonCountCache;
+        this.pokemonRatingService = pokemonRatingService;
+        this.pokemonLeaderboardService = pokemonLeaderboardService;
     }
 
+    /*
+     * The mapped DTOs of getPokemonById and of the offset pages are cached (see CacheConfig), every write
+     * refreshes the pokemon entry and drops all cached pages since any page may contain the pokemon. The caches
+     * are transaction aware, so these puts and evictions only take effect once the write has committed.
+     *
+     * The reads select the DTOs straight from the database in read-only transactions, so no entity is loaded
+     * into the persistence context and Hibernate neither snapshots nor dirty checks anything on the read paths.
+     */
+
     @Override
+    @CacheEvict(cacheNames = CacheConfig.POKEMON_PAGES_CACHE, allEntries = true)
+    @Transactional
     public PokemonDto createPokemon(PokemonDto pokemonDto) {
         Pokemon pokemon = new Pokemon();
         pokemon.setName(pokemonDto.getName());
         pokemon.setType(pokemonDto.getType());
 
         Pokemon newPokemon = pokemonRepository.save(pokemon);
+        pokemonRatingService.createRating(newPokemon.getId()); // in the same transaction, before any review can exist
+        pokemonCountCache.increment();
 
         PokemonDto pokemonResponse = new PokemonDto();
         pokemonResponse.setId(newPokemon.getId());
@@ -40,14 +76,14 @@ public class PokemonServiceImpl implements PokemonService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.POKEMON_PAGES_CACHE, key = "#pageNo + ':' + #pageSize")
+    @Transactional(readOnly = true)
     public PokemonResponse getAllPokemon(int pageNo, int pageSize) {
         Pageable pageable = PageRequest.of(pageNo, pageSize);
-        Page<Pokemon> pokemons = pokemonRepository.findAll(pageable);
-        List<Pokemon> listOfPokemon = pokemons.getContent();
-        List<PokemonDto> content = listOfPokemon.stream().map(p -> mapToDto(p)).collect(Collectors.toList());
+        Page<PokemonDto> pokemons = pokemonRepository.findAllDtos(pageable);
 
         PokemonResponse pokemonResponse = new PokemonResponse();
-        pokemonResponse.setContent(content);
+        pokemonResponse.setContent(pokemons.getContent());
         pokemonResponse.setPageNo(pokemons.getNumber());
         pokemonResponse.setPageSize(pokemons.getSize());
         pokemonResponse.setTotalElements(pokemons.getTotalElements());
@@ -57,13 +93,73 @@ public class PokemonServiceImpl implements PokemonService {
         return pokemonResponse;
     }
 
+    /*
+     * NONE and APPROXIMATE read a Slice, which fetches pageSize+1 rows to know whether there is a next page
+     * and never runs the count query. APPROXIMATE then fills the totals from the PokemonCountCache.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.POKEMON_PAGES_CACHE, key = "#pageNo + ':' + #pageSize + ':' + #countMode")
+    @Transactional(readOnly = true)
+    public PokemonResponse getAllPokemon(int pageNo, int pageSize, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getAllPokemon(pageNo, pageSize);
+        }
+
+        Pageable pageable = PageRequest.of(pageNo, pageSize);
+        Slice<PokemonDto> pokemons = pokemonRepository.findDtoSlice(pageable);
+
+        PokemonResponse pokemonResponse = new PokemonResponse();
+        pokemonResponse.setContent(pokemons.getContent());
+        pokemonResponse.setPageNo(pokemons.getNumber());
+        pokemonResponse.setPageSize(pokemons.getSize());
+        pokemonResponse.setLast(pokemons.isLast());
+        if (countMode == CountMode.APPROXIMATE) {
+            long totalElements = pokemonCountCache.get();
+            pokemonResponse.setTotalElements(totalElements);
+            pokemonResponse.setTotalPages((int) ((totalElements + pageSize - 1) / pageSize));
+        }
+
+        return pokemonResponse;
+    }
+
+    /*
+     * Keyset pagination: seeks by id > last id of the previous page instead of using an OFFSET, so every page
+     * costs the same no matter how deep it is, and no count query is run. One extra row is fetched to know
+     * whether this is the last page.
+     */
     @Override
+    @Transactional(readOnly = true)
+    public PokemonResponse getAllPokemonAfter(String cursor, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        int lastId = decodeCursor(cursor);
+        List<PokemonDto> pokemons = pokemonRepository.findDtosAfterId(lastId, PageRequest.of(0, pageSize + 1));
+        boolean last = pokemons.size() <= pageSize;
+        List<PokemonDto> content = last ? pokemons : pokemons.subList(0, pageSize);
+
+        PokemonResponse pokemonResponse = new PokemonResponse();
+        pokemonResponse.setContent(content);
+        pokemonResponse.setPageSize(pageSize);
+        pokemonResponse.setLast(last);
+        if (!last) {
+            pokemonResponse.setNextCursor(encodeCursor(content.get(content.size() - 1).getId()));
+        }
+
+        return pokemonResponse;
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.POKEMON_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public PokemonDto getPokemonById(int id) {
-        Pokemon pokemon = pokemonRepository.findById(id).orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be found"));
-        return mapToDto(pokemon);
+        return pokemonRepository.findDtoById(id).orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be found"));
     }
 
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.POKEMON_CACHE, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.POKEMON_PAGES_CACHE, allEntries = true))
+    @Transactional
     public PokemonDto updatePokemon(PokemonDto pokemonDto, int id) {
         Pokemon pokemon = pokemonRepository.findById(id).orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be updated"));
 
@@ -71,13 +167,29 @@ public class PokemonServiceImpl implements PokemonService {
         pokemon.setType(pokemonDto.getType());
 
         Pokemon updatedPokemon = pokemonRepository.save(pokemon);
+        pokemonLeaderboardService.pokemonUpdated(id, updatedPokemon.getName(), updatedPokemon.getType());
         return mapToDto(updatedPokemon);
     }
 
+    /*
+     * The reviews are removed with one set-based DELETE before the pokemon, so the cascade of Pokemon.reviews
+     * finds an empty collection instead of loading every review and deleting them one row at a time.
+     * Pokemon with a huge number of reviews can be deleted by a background job instead, see ReviewDeleteService.
+     * Like the bulk deletes of ReviewDeleteService the rating row is locked first, so a review written meanwhile
+     * either commits before the DELETE sees it or waits until the pokemon is gone.
+     */
     @Override
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.POKEMON_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.POKEMON_PAGES_CACHE, allEntries = true)})
+    @Transactional
     public void deletePokemonId(int id) {
         Pokemon pokemon = pokemonRepository.findById(id).orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be delete"));
+        pokemonRatingService.lockRating(id);
+        reviewRepository.deleteAllByPokemonId(id);
         pokemonRepository.delete(pokemon);
+        pokemonRatingService.deleteRating(id);
+        pokemonLeaderboardService.pokemonRemoved(id);
+        pokemonCountCache.decrement();
     }
 
     private PokemonDto mapToDto(Pokemon pokemon) {
@@ -88,6 +200,21 @@ public class PokemonServiceImpl implements PokemonService {
         return pokemonDto;
     }
 
+    private String encodeCursor(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int decodeCursor(String cursor) {
+        if (cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor is not valid");
+        }
+    }
+
     private Pokemon mapToEntity(PokemonDto pokemonDto) {
         Pokemon pokemon = new Pokemon();
         pokemon.setName(pokemonDto.getName());
@@ -0,0 +1,148 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.AuthResponseDTO;
+import com.pokemonreview.api.exceptions.InvalidRefreshTokenException;
+import com.pokemonreview.api.models.RefreshToken;
+import com.pokemonreview.api.repository.RefreshTokenRepository;
+import com.pokemonreview.api.security.CustomUserDetailsService;
+import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.service.RefreshTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    /*
+     * Refresh tokens are 256 random bits, handed out with the access token at login. A refresh trades one for a new
+     * access token and a new refresh token without any bcrypt work: one indexed lookup on the hash of the token, the
+     * update that marks it used, the user and its roles read from the database, and the insert of the next token.
+     * The user is not taken from the UserDetailsCache, a user that was deleted or disabled meanwhile must not be
+     * able to keep refreshing until the cached entry expires.
+     *
+     * Every refresh token is single use and the tokens rotated from one login form a family. Presenting a token
+     * that was already used means it was stolen or replayed, so the whole family is revoked and the client has to
+     * log in again. The same happens to the loser of two concurrent refreshes with the same token, the update that
+     * marks it used decides which one wins.
+     * Expired tokens, used or not, are deleted every security.jwt.refresh-cleanup-interval milliseconds.
+     */
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private static final int TOKEN_BYTES = 32;
+    private static final int FAMILY_BYTES = 16;
+    private static final String INVALID_TOKEN_MESSAGE = "Refresh token is invalid or expired";
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private RefreshTokenRepository refreshTokenRepository;
+    private CustomUserDetailsService userDetailsService;
+    private JWTGenerator jwtGenerator;
+    private long expiration;
+
+    @Autowired
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, CustomUserDetailsService userDetailsService,
+                                   JWTGenerator jwtGenerator,
+                                   @Value("${security.jwt.refresh-expiration:1209600000}") long expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userDetailsService = userDetailsService;
+        this.jwtGenerator = jwtGenerator;
+        this.expiration = expiration;
+    }
+
+    // starts a new family, called once per login
+    @Override
+    @Transactional
+    public String createRefreshToken(String username) {
+        return issue(username, randomToken(FAMILY_BYTES));
+    }
+
+    // the revocation of a replayed family has to be committed although the refresh fails
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthResponseDTO refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE);
+        }
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE));
+        if (stored.getUsedAt() != null || refreshTokenRepository.markUsed(stored.getId(), Instant.now()) == 0) {
+            logger.warn("Refresh token of user {} was used again, revoking its token family", stored.getUsername());
+            revokeFamily(stored);
+            throw new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE);
+        }
+        if (stored.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE);
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(stored.getUsername());
+        } catch (UsernameNotFoundException ex) {
+            revokeFamily(stored);
+            throw new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE);
+        }
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+            revokeFamily(stored);
+            throw new InvalidRefreshTokenException(INVALID_TOKEN_MESSAGE);
+        }
+        String accessToken = jwtGenerator.generateToken(
+                new UsernamePasswordAuthenticationToken(userDetails.getUsername(), null, userDetails.getAuthorities()));
+        String family = stored.getFamily() != null ? stored.getFamily() : randomToken(FAMILY_BYTES);
+        return new AuthResponseDTO(accessToken, issue(userDetails.getUsername(), family));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-cleanup-interval:3600000}")
+    public void deleteExpiredTokens() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String issue(String username, String family) {
+        String token = randomToken(TOKEN_BYTES);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .username(username)
+                .expiresAt(Instant.now().plusMillis(expiration))
+                .family(family)
+                .build());
+        return token;
+    }
+
+    private void revokeFamily(RefreshToken stored) {
+        if (stored.getFamily() != null) {
+            refreshTokenRepository.deleteFamily(stored.getFamily());
+        } else {
+            refreshTokenRepository.delete(stored);
+        }
+    }
+
+    private String randomToken(int bytes) {
+        byte[] random = new byte[bytes];
+        secureRandom.nextBytes(random);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.ReviewDeleteJobDto;
+import com.pokemonreview.api.exceptions.DeleteJobNotFoundException;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.DeleteJobStatus;
+import com.pokemonreview.api.service.PokemonRatingService;
+import com.pokemonreview.api.service.PokemonService;
+import com.pokemonreview.api.service.ReviewDeleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+public class ReviewDeleteServiceImpl implements ReviewDeleteService {
+
+    /*
+     * Deletes the reviews of a pokemon without loading them. deleteReviewsByPokemonId runs one set-based DELETE
+     * within the request. The background jobs delete review.delete.batch-size reviews per transaction on the
+     * application task executor, so no transaction holds the locks of millions of rows and the progress can be
+     * polled with getDeleteJob. A job started with deletePokemon deletes the pokemon through
+     * PokemonService.deletePokemonId once its batches are done, which also removes reviews added in the meantime.
+     *
+     * The rating row of the pokemon is locked before any review is read or deleted, so the aggregates stay exact
+     * after every batch. Each bulk statement evicts the Review region of the second-level cache.
+     *
+     * Jobs are kept in memory on the instance that runs them, finished jobs are dropped after
+     * FINISHED_JOB_RETENTION milliseconds.
+     */
+
+    public static final long FINISHED_JOB_RETENTION = TimeUnit.HOURS.toMillis(1);
+
+    private final Map<String, DeleteJob> jobs = new ConcurrentHashMap<>();
+    private ReviewRepository reviewRepository;
+    private PokemonRepository pokemonRepository;
+    private PokemonRatingService pokemonRatingService;
+    private PokemonService pokemonService;
+    private TransactionTemplate transactionTemplate;
+    private TaskExecutor taskExecutor;
+    private int batchSize;
+
+    @Autowired
+    public ReviewDeleteServiceImpl(ReviewRepository reviewRepository, PokemonRepository pokemonRepository,
+                                   PokemonRatingService pokemonRatingService, PokemonService pokemonService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                   @Value("${review.delete.batch-size:1000}") int batchSize) {
+        this.reviewRepository = reviewRepository;
+        this.pokemonRepository = pokemonRepository;
+        this.pokemonRatingService = pokemonRatingService;
+        this.pokemonService = pokemonService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public ReviewDeleteJobDto deleteReviewsByPokemonId(int pokemonId) {
+        if (!pokemonRepository.existsById(pokemonId)) {
+            throw new PokemonNotFoundException("Pokemon could not be found");
+        }
+        pokemonRatingService.lockRating(pokemonId);
+        int deleted = reviewRepository.deleteAllByPokemonId(pokemonId);
+        pokemonRatingService.reviewsCleared(pokemonId);
+
+        ReviewDeleteJobDto reviewDeleteJobDto = new ReviewDeleteJobDto();
+        reviewDeleteJobDto.setPokemonId(pokemonId);
+        reviewDeleteJobDto.setStatus(DeleteJobStatus.COMPLETED);
+        reviewDeleteJobDto.setTotalReviews(deleted);
+        reviewDeleteJobDto.setDeletedReviews(deleted);
+        return reviewDeleteJobDto;
+    }
+
+    @Override
+    public ReviewDeleteJobDto startDeleteJob(int pokemonId, boolean deletePokemon) {
+        if (!pokemonRepository.existsById(pokemonId)) {
+            throw new PokemonNotFoundException("Pokemon could not be found");
+        }
+        removeFinishedJobs();
+
+        DeleteJob job = new DeleteJob(UUID.randomUUID().toString(), pokemonId, deletePokemon,
+                reviewRepository.countByPokemonId(pokemonId));
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> run(job));
+        return mapToDto(job);
+    }
+
+    @Override
+    public ReviewDeleteJobDto getDeleteJob(String jobId) {
+        DeleteJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new DeleteJobNotFoundException("Delete job could not be found");
+        }
+        return mapToDto(job);
+    }
+
+    private void run(DeleteJob job) {
+        try {
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> deleteBatch(job.pokemonId));
+                job.deletedReviews.addAndGet(deleted);
+            } while (deleted == batchSize);
+
+            if (job.deletePokemon) {
+                pokemonService.deletePokemonId(job.pokemonId);
+                job.pokemonDeleted = true;
+            }
+            job.finish(DeleteJobStatus.COMPLETED, null);
+        } catch (RuntimeException ex) {
+            job.finish(DeleteJobStatus.FAILED, ex.getMessage());
+        }
+    }
+
+    private int deleteBatch(int pokemonId) {
+        pokemonRatingService.lockRating(pokemonId);
+        List<ReviewRepository.StarsRow> rows = reviewRepository.findStarsByPokemonId(pokemonId, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        reviewRepository.deleteAllByIdIn(rows.stream().map(ReviewRepository.StarsRow::getId).collect(Collectors.toList()));
+        pokemonRatingService.reviewsRemoved(pokemonId, rows.stream().map(ReviewRepository.StarsRow::getStars).collect(Collectors.toList()));
+        return rows.size();
+    }
+
+    private void removeFinishedJobs() {
+        long expired = System.currentTimeMillis() - FINISHED_JOB_RETENTION;
+        jobs.values().removeIf(job -> job.status != DeleteJobStatus.RUNNING && job.finishedAt < expired);
+    }
+
+    private ReviewDeleteJobDto mapToDto(DeleteJob job) {
+        ReviewDeleteJobDto reviewDeleteJobDto = new ReviewDeleteJobDto();
+        reviewDeleteJobDto.setJobId(job.id);
+        reviewDeleteJobDto.setPokemonId(job.pokemonId);
+        reviewDeleteJobDto.setStatus(job.status);
+        reviewDeleteJobDto.setTotalReviews(job.totalReviews);
+        reviewDeleteJobDto.setDeletedReviews(job.deletedReviews.get());
+        reviewDeleteJobDto.setPokemonDeleted(job.pokemonDeleted);
+        reviewDeleteJobDto.setError(job.error);
+        return reviewDeleteJobDto;
+    }
+
+    private static final class DeleteJob {
+        private final String id;
+        private final int pokemonId;
+        private final boolean deletePokemon;
+        private final long totalReviews;
+        private final AtomicLong deletedReviews = new AtomicLong();
+        private volatile boolean pokemonDeleted;
+        private volatile String error;
+        private volatile long finishedAt;
+        private volatile DeleteJobStatus status = DeleteJobStatus.RUNNING;
+
+        private DeleteJob(String id, int pokemonId, boolean deletePokemon, long totalReviews) {
+            this.id = id;
+            this.pokemonId = pokemonId;
+            this.deletePokemon = deletePokemon;
+            this.totalReviews = totalReviews;
+        }
+
+        // the status is written last so a reader that sees it finished also sees the other fields
+        private void finish(DeleteJobStatus status, String error) {
+            this.error = error;
+            this.finishedAt = System.currentTimeMillis();
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.ReviewImportDto;
+import com.pokemonreview.api.dto.ReviewImportResponse;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.PokemonRating;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.service.PokemonRatingService;
+import com.pokemonreview.api.service.ReviewImportService;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ReviewImportServiceImpl implements ReviewImportService {
+
+    /*
+     * Inserts the reviews in batches of review.import.batch-size rows. For every batch the pokemon ids that were
+     * not seen yet are checked with a single query, the reviews are attached to reference proxies of their pokemon
+     * and the persistence context is flushed as one JDBC batch and cleared so it does not grow with the import.
+     *
+     * Every review.import.commit-size rows are committed in a transaction of their own, so a large import neither
+     * holds one long transaction nor grows the undo log without bound. An unknown pokemon id rolls back the chunk
+     * it is in, the chunks before it stay imported. The session does not touch the second-level cache
+     * (CacheMode.IGNORE), imported reviews are not pushed into the Review region where they would evict the
+     * reviews that are actually read.
+     *
+     * The star counts of a chunk are accumulated per pokemon in memory and the rating rows are only locked, in
+     * pokemon id order, once its last batch is flushed. The review writes of those pokemon are only blocked while
+     * the chunk commits, not while it inserts, and two imports running at once lock their rating rows in the same
+     * order.
+     */
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private PokemonRepository pokemonRepository;
+    private PokemonRatingService pokemonRatingService;
+    private TransactionTemplate transactionTemplate;
+    private int batchSize;
+    private int commitSize;
+
+    @Autowired
+    public ReviewImportServiceImpl(PokemonRepository pokemonRepository, PokemonRatingService pokemonRatingService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${review.import.batch-size:500}") int batchSize,
+                                   @Value("${review.import.commit-size:50000}") int commitSize) {
+        this.pokemonRepository = pokemonRepository;
+        this.pokemonRatingService = pokemonRatingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.commitSize = commitSize;
+    }
+
+    @Override
+    public ReviewImportResponse importReviews(Iterator<ReviewImportDto> reviews) {
+        long start = System.nanoTime();
+
+        long inserted = 0;
+        while (reviews.hasNext()) {
+            try {
+                inserted += transactionTemplate.execute(status -> importChunk(reviews));
+            } catch (PokemonNotFoundException ex) {
+                throw new PokemonNotFoundException(ex.getMessage() + ", " + inserted + " reviews before it were imported");
+            }
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ReviewImportResponse response = new ReviewImportResponse();
+        response.setInserted(inserted);
+        response.setBatchSize(batchSize);
+        response.setDurationMs(durationMs);
+        response.setRowsPerSecond(inserted * 1000.0 / Math.max(durationMs, 1));
+        return response;
+    }
+
+    private long importChunk(Iterator<ReviewImportDto> reviews) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        session.setCacheMode(CacheMode.IGNORE);
+
+        Set<Integer> knownPokemonIds = new HashSet<>();
+        Map<Integer, PokemonRating> ratingDeltas = new HashMap<>();
+        List<ReviewImportDto> batch = new ArrayList<>(batchSize);
+        long inserted = 0;
+        while (inserted + batch.size() < commitSize && reviews.hasNext()) {
+            batch.add(reviews.next());
+            if (batch.size() == batchSize) {
+                inserted += insertBatch(batch, knownPokemonIds, ratingDeltas);
+            }
+        }
+        inserted += insertBatch(batch, knownPokemonIds, ratingDeltas);
+        pokemonRatingService.ratingsAdded(ratingDeltas.values());
+        return inserted;
+    }
+
+    private int insertBatch(List<ReviewImportDto> batch, Set<Integer> knownPokemonIds, Map<Integer, PokemonRating> ratingDeltas) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        verifyPokemonIds(batch, knownPokemonIds);
+
+        for (ReviewImportDto reviewDto : batch) {
+            Review review = new Review();
+            review.setTitle(reviewDto.getTitle());
+            review.setContent(reviewDto.getContent());
+            review.setStars(reviewDto.getStars());
+            review.setPokemon(entityManager.getReference(Pokemon.class, reviewDto.getPokemonId()));
+            entityManager.persist(review);
+            ratingDeltas.computeIfAbsent(reviewDto.getPokemonId(), PokemonRating::new).add(reviewDto.getStars(), 1);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private void verifyPokemonIds(List<ReviewImportDto> batch, Set<Integer> knownPokemonIds) {
+        Set<Integer> unknownIds = new HashSet<>();
+        for (ReviewImportDto reviewDto : batch) {
+            if (!knownPokemonIds.contains(reviewDto.getPokemonId())) {
+                unknownIds.add(reviewDto.getPokemonId());
+            }
+        }
+        if (unknownIds.isEmpty()) {
+            return;
+        }
+
+        List<Integer> existingIds = pokemonRepository.findExistingIds(unknownIds);
+        knownPokemonIds.addAll(existingIds);
+        unknownIds.removeAll(existingIds);
+        if (!unknownIds.isEmpty()) {
+            throw new PokemonNotFoundException("Pokemon with id " + unknownIds + " not found");
+        }
+    }
+}
@@ -1,94 +1,196 @@
 package com.pokemonreview.api.service.impl;
 
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
 import com.pokemonreview.api.exceptions.PokemonNotFoundException;
 import com.pokemonreview.api.exceptions.ReviewNotFoundException;
-import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
 import com.pokemonreview.api.repository.PokemonRepository;
 import com.pokemonreview.api.repository.ReviewRepository;
-import com.pokemonreview.api.service.PokemonService;
+import com.pokemonreview.api.service.PokemonRatingService;
 import com.pokemonreview.api.service.ReviewService;
+import com.pokemonreview.api.service.ReviewSort;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ReviewServiceImpl implements ReviewService {
+
+    /*
+     * Review listings are bounded: the plain list returns at most MAX_LIST_SIZE reviews by ascending id and
+     * the pages hold at most MAX_PAGE_SIZE reviews, larger page sizes are reduced to it.
+     *
+     * The reads select ReviewDto straight from the database in read-only transactions, only the writes load
+     * review entities.
+     */
+    public static final int MAX_LIST_SIZE = 1000;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private ReviewRepository reviewRepository;
     private PokemonRepository pokemonRepository;
+    private PokemonRatingService pokemonRatingService;
 
     @Autowired
-    public ReviewServiceImpl(ReviewRepository reviewRepository, PokemonRepository pokemonRepository) {
+    public ReviewServiceImpl(ReviewRepository reviewRepository, PokemonRepository pokemonRepository,
+                             PokemonRatingService pokemonRatingService) {
         this.reviewRepository = reviewRepository;
         this.pokemonRepository = pokemonRepository;
+        this.pokemonRatingService = pokemonRatingService;
     }
 
+    /*
+     * The pokemon is only checked for existence and the review is attached to a reference proxy,
+     * the pokemon row itself is never loaded.
+     * The rating aggregates of the pokemon are updated in the same transaction by every review write.
+     */
     @Override
+    @Transactional
     public ReviewDto createReview(int pokemonId, ReviewDto reviewDto) {
         Review review = mapToEntity(reviewDto);
 
-        Pokemon pokemon = pokemonRepository.findById(pokemonId).orElseThrow(() -> new PokemonNotFoundException("Pokemon with associated review not found"));
+        if (!pokemonRepository.existsById(pokemonId)) {
+            throw new PokemonNotFoundException("Pokemon with associated review not found");
+        }
 
-        review.setPokemon(pokemon);
+        review.setPokemon(pokemonRepository.getReferenceById(pokemonId));
 
         Review newReview = reviewRepository.save(review);
+        pokemonRatingService.reviewAdded(pokemonId, newReview.getStars());
 
         return mapToDto(newReview);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDto> getReviewsByPokemonId(int id) {
-        List<Review> reviews = reviewRepository.findByPokemonId(id);
-
-        return reviews.stream().map(review -> mapToDto(review)).collect(Collectors.toList());
+        return reviewRepository.findDtosByPokemonId(id, PageRequest.of(0, MAX_LIST_SIZE, Sort.by("id")));
     }
 
     @Override
-    public ReviewDto getReviewById(int reviewId, int pokemonId) {
-        Pokemon pokemon = pokemonRepository.findById(pokemonId).orElseThrow(() -> new PokemonNotFoundException("Pokemon with associated review not found"));
-
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
+    @Transactional(readOnly = true)
+    public ReviewResponse getReviewsByPokemonId(int id, int pageNo, int pageSize, ReviewSort sort) {
+        Pageable pageable = PageRequest.of(pageNo, cappedPageSize(pageSize), toSort(sort));
+        Page<ReviewDto> reviews = reviewRepository.findDtoPageByPokemonId(id, pageable);
+
+        ReviewResponse reviewResponse = new ReviewResponse();
+        reviewResponse.setContent(reviews.getContent());
+        reviewResponse.setPageNo(reviews.getNumber());
+        reviewResponse.setPageSize(reviews.getSize());
+        reviewResponse.setTotalElements(reviews.getTotalElements());
+        reviewResponse.setTotalPages(reviews.getTotalPages());
+        reviewResponse.setLast(reviews.isLast());
+
+        return reviewResponse;
+    }
 
-        if(review.getPokemon().getId() != pokemon.getId()) {
-            throw new ReviewNotFoundException("This review does not belond to a pokemon");
+    /*
+     * Keyset mode: the cursor holds the sort key of the last review of the previous page, so every page is an
+     * index range scan no matter how deep it is. One extra row is fetched to know whether there is a next page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewResponse getReviewsByPokemonIdAfter(int id, String cursor, int pageSize, ReviewSort sort) {
+        int size = cappedPageSize(pageSize);
+        int[] key = decodeCursor(cursor, sort);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ReviewDto> reviews = sort == ReviewSort.STARS
+                ? reviewRepository.findDtosByPokemonIdBeforeStars(id, key[0], key[1], limit)
+                : reviewRepository.findDtosByPokemonIdAfterId(id, key[1], limit);
+        boolean last = reviews.size() <= size;
+        List<ReviewDto> content = last ? reviews : reviews.subList(0, size);
+
+        ReviewResponse reviewResponse = new ReviewResponse();
+        reviewResponse.setContent(content);
+        reviewResponse.setPageSize(size);
+        reviewResponse.setLast(last);
+        if (!last) {
+            ReviewDto lastReview = content.get(content.size() - 1);
+            reviewResponse.setNextCursor(encodeCursor(lastReview.getStars(), lastReview.getId()));
         }
 
-        return mapToDto(review);
+        return reviewResponse;
     }
 
+    /*
+     * The review and its ownership are checked with a single query on the review id and the pokemon id,
+     * a review that does not exist or belongs to another pokemon is not found.
+     */
     @Override
-    public ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto) {
-        Pokemon pokemon = pokemonRepository.findById(pokemonId).orElseThrow(() -> new PokemonNotFoundException("Pokemon with associated review not found"));
-
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
+    @Transactional(readOnly = true)
+    public ReviewDto getReviewById(int reviewId, int pokemonId) {
+        return reviewRepository.findDtoByIdAndPokemonId(reviewId, pokemonId)
+                .orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
+    }
 
-        if(review.getPokemon().getId() != pokemon.getId()) {
-            throw new ReviewNotFoundException("This review does not belong to a pokemon");
-        }
+    @Override
+    @Transactional
+    public ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto) {
+        Review review = findReviewOfPokemon(pokemonId, reviewId);
+        int oldStars = review.getStars();
 
         review.setTitle(reviewDto.getTitle());
         review.setContent(reviewDto.getContent());
         review.setStars(reviewDto.getStars());
 
         Review updateReview = reviewRepository.save(review);
+        pokemonRatingService.reviewChanged(pokemonId, oldStars, updateReview.getStars());
 
         return mapToDto(updateReview);
     }
 
     @Override
+    @Transactional
     public void deleteReview(int pokemonId, int reviewId) {
-        Pokemon pokemon = pokemonRepository.findById(pokemonId).orElseThrow(() -> new PokemonNotFoundException("Pokemon with associated review not found"));
+        Review review = findReviewOfPokemon(pokemonId, reviewId);
 
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
+        reviewRepository.delete(review);
+        pokemonRatingService.reviewRemoved(pokemonId, review.getStars());
+    }
 
-        if(review.getPokemon().getId() != pokemon.getId()) {
-            throw new ReviewNotFoundException("This review does not belong to a pokemon");
+    private Review findReviewOfPokemon(int pokemonId, int reviewId) {
+        return reviewRepository.findByIdAndPokemonId(reviewId, pokemonId)
+                .orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
+    }
+
+    private int cappedPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
         }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
 
-        reviewRepository.delete(review);
+    private Sort toSort(ReviewSort sort) {
+        return sort == ReviewSort.STARS ? Sort.by(Sort.Direction.DESC, "stars", "id") : Sort.by("id");
+    }
+
+    private String encodeCursor(int stars, int id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((stars + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // returns {stars, id}, an empty cursor starts before the first review of the sort order
+    private int[] decodeCursor(String cursor, ReviewSort sort) {
+        if (cursor.isEmpty()) {
+            return sort == ReviewSort.STARS ? new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE} : new int[]{0, 0};
+        }
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", -1);
+            if (key.length != 2) {
+                throw new InvalidCursorException("Cursor is not valid");
+            }
+            return new int[]{Integer.parseInt(key[0]), Integer.parseInt(key[1])};
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor is not valid");
+        }
     }
 
     private ReviewDto mapToDto(Review review) {
@@ -0,0 +1,42 @@
+package com.pokemonreview.api;
+
+import com.pokemonreview.api.security.PasswordHashingExecutor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.concurrent.Executor;
+
+/*
+ * Loads the default (servlet) context without any web request, so a wiring problem fails here on its own
+ * instead of being hidden among the failures of the end-to-end tests.
+ */
+@SpringBootTest
+public class ApplicationContextTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    public void ApplicationContext_Default_CreatesApplicationTaskExecutor() {
+        Object applicationTaskExecutor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+
+        Assertions.assertThat(applicationTaskExecutor).isInstanceOf(ThreadPoolTaskExecutor.class);
+        Assertions.assertThat(context.getBeansOfType(Executor.class).values())
+                .noneMatch(executor -> executor instanceof PasswordHashingExecutor);
+    }
+
+    @Test
+    public void ApplicationContext_Default_RunsMvcAsyncOnApplicationTaskExecutor() {
+        RequestMappingHandlerAdapter handlerAdapter = context.getBean(RequestMappingHandlerAdapter.class);
+
+        Assertions.assertThat(ReflectionTestUtils.getField(handlerAdapter, "taskExecutor"))
+                .isSameAs(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+    }
+}
@@ -0,0 +1,61 @@
+package com.pokemonreview.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+
+public class RequestMetricsInterceptorTests {
+
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsInterceptor interceptor = new RequestMetricsInterceptor(sqlStatementCounter, meterRegistry, 500);
+
+    @Test
+    public void RequestMetricsInterceptor_AfterCompletion_RecordsStatementsByEndpoint() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pokemon/1/reviews");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/pokemon/{pokemonId}/reviews");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        sqlStatementCounter.inspect("select * from review");
+        sqlStatementCounter.inspect("select * from pokemon");
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        DistributionSummary statements = meterRegistry.get(RequestMetricsInterceptor.STATEMENTS_METRIC)
+                .tag("method", "GET").tag("uri", "/api/pokemon/{pokemonId}/reviews").summary();
+        Assertions.assertThat(statements.count()).isEqualTo(1);
+        Assertions.assertThat(statements.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    public void RequestMetricsInterceptor_AsyncRequest_RecordsOnAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        sqlStatementCounter.inspect("select * from users");
+        // a task handed to another thread by the handler counts for the request
+        Thread worker = new Thread(sqlStatementCounter.decorate(() -> sqlStatementCounter.inspect("insert into refresh_token")));
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        worker.start();
+        worker.join();
+        sqlStatementCounter.inspect("select * from pokemon"); // the request thread serves another request meanwhile
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        DistributionSummary statements = meterRegistry.get(RequestMetricsInterceptor.STATEMENTS_METRIC)
+                .tag("method", "POST").tag("uri", "/api/auth/login").summary();
+        Assertions.assertThat(statements.count()).isEqualTo(1);
+        Assertions.assertThat(statements.totalAmount()).isEqualTo(2);
+        Assertions.assertThat(sqlStatementCounter.stop()).isZero();
+    }
+}
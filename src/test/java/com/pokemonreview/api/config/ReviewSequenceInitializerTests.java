@@ -0,0 +1,64 @@
+package com.pokemonreview.api.config;
+
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// the alter sequence commits, so these tests commit their data instead of rolling it back
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(ReviewSequenceInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReviewSequenceInitializerTests {
+
+    // a review id an IDENTITY column handed out before the sequence existed
+    private static final int EXISTING_REVIEW_ID = 900000;
+
+    @Autowired
+    private ReviewSequenceInitializer reviewSequenceInitializer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        jdbcTemplate.update("insert into review (id, title, content, stars, pokemon_id) values (?, 'title', 'content', 5, ?)",
+                EXISTING_REVIEW_ID, pokemon.getId());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        jdbcTemplate.update("delete from review where pokemon_id = ?", pokemon.getId());
+        pokemonRepository.deleteById(pokemon.getId());
+    }
+
+    @Test
+    public void ReviewSequenceInitializer_ExistingIds_HandsOutIdsPastThem() {
+        Assertions.assertThat(reviewSequenceInitializer.seedPastExistingIds())
+                .isEqualTo(EXISTING_REVIEW_ID + Review.ID_ALLOCATION_SIZE);
+        Assertions.assertThat(reviewSequenceInitializer.seedPastExistingIds()).isZero();
+
+        Review review = reviewRepository.save(Review.builder().title("title").content("content").stars(3).pokemon(pokemon).build());
+
+        Assertions.assertThat(review.getId()).isGreaterThan(EXISTING_REVIEW_ID);
+    }
+}
@@ -0,0 +1,42 @@
+package com.pokemonreview.api.config;
+
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.repository.PokemonRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(RequestMetricsConfig.class)
+public class SqlStatementCounterTests {
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+
+    @Test
+    public void SqlStatementCounter_Stop_ReturnsStatementsOfThisThread() {
+        sqlStatementCounter.start();
+        pokemonRepository.saveAndFlush(Pokemon.builder().name("pikachu").type("electric").build());
+        pokemonRepository.count();
+
+        Assertions.assertThat(sqlStatementCounter.stop()).isEqualTo(2);
+        Assertions.assertThat(sqlStatementCounter.stop()).isZero();
+    }
+
+    @Test
+    public void SqlStatementCounter_Decorate_CountsTaskForSubmittingThread() throws Exception {
+        sqlStatementCounter.start();
+        Thread worker = new Thread(sqlStatementCounter.decorate(() -> pokemonRepository.count()));
+        worker.start();
+        worker.join();
+
+        Assertions.assertThat(sqlStatementCounter.stop()).isEqualTo(1);
+    }
+}
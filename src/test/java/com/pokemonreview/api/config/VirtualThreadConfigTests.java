@@ -0,0 +1,33 @@
+package com.pokemonreview.api.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+public class VirtualThreadConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    public void VirtualThreadConfig_Disabled_CreatesNoBeans() {
+        contextRunner.run(context -> Assertions.assertThat(context).doesNotHaveBean(VirtualThreadConfig.class));
+    }
+
+    @Test
+    public void VirtualThreadConfig_Enabled_RunsTasksOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            AsyncTaskExecutor executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                    AsyncTaskExecutor.class);
+
+            CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+            executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+
+            Assertions.assertThat(virtual.get()).isTrue();
+        });
+    }
+}
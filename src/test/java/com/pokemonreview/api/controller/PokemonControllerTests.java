@@ -4,11 +4,20 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pokemonreview.api.controllers.PokemonController;
 import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonRankDto;
+import com.pokemonreview.api.dto.PokemonRatingDto;
 import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.dto.ReviewDeleteJobDto;
 import com.pokemonreview.api.dto.ReviewDto;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.service.CountMode;
+import com.pokemonreview.api.service.DeleteJobStatus;
+import com.pokemonreview.api.service.PokemonExportService;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import com.pokemonreview.api.service.PokemonRatingService;
 import com.pokemonreview.api.service.PokemonService;
+import com.pokemonreview.api.service.ReviewDeleteService;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,13 +30,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,6 +55,18 @@ public class PokemonControllerTests {
         @MockBean
         private PokemonService pokemonService;
 
+        @MockBean
+        private PokemonExportService pokemonExportService;
+
+        @MockBean
+        private PokemonRatingService pokemonRatingService;
+
+        @MockBean
+        private PokemonLeaderboardService pokemonLeaderboardService;
+
+        @MockBean
+        private ReviewDeleteService reviewDeleteService;
+
         @Autowired
         private ObjectMapper objectMapper;
         private Pokemon pokemon;
@@ -90,6 +115,55 @@ public class PokemonControllerTests {
                                                 CoreMatchers.is(responseDto.getContent().size())));
         }
 
+        @Test
+        public void PokemonController_GetAllPokemonWithoutCount_ReturnResponseDto() throws Exception {
+                PokemonResponse responseDto = PokemonResponse.builder().pageSize(10).last(true).pageNo(0)
+                                .content(Arrays.asList(pokemonDto)).build();
+                when(pokemonService.getAllPokemon(0, 10, CountMode.NONE)).thenReturn(responseDto);
+
+                ResultActions response = mockMvc.perform(get("/api/pokemon")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .param("pageNo", "0")
+                                .param("pageSize", "10")
+                                .param("count", "NONE"));
+
+                response.andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist());
+        }
+
+        @Test
+        public void PokemonController_GetAllPokemonWithCursor_ReturnResponseDto() throws Exception {
+                PokemonResponse responseDto = PokemonResponse.builder().pageSize(10).last(false).nextCursor("MQ")
+                                .content(Arrays.asList(pokemonDto)).build();
+                when(pokemonService.getAllPokemonAfter("", 10)).thenReturn(responseDto);
+
+                ResultActions response = mockMvc.perform(get("/api/pokemon")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .param("cursor", "")
+                                .param("pageSize", "10"));
+
+                response.andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is("MQ")));
+        }
+
+        @Test
+        public void PokemonController_ExportPokemons_StreamsNdjson() throws Exception {
+                doAnswer(invocation -> {
+                        OutputStream outputStream = invocation.getArgument(0);
+                        outputStream.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                        return null;
+                }).when(pokemonExportService).exportAll(ArgumentMatchers.any());
+
+                MvcResult result = mockMvc.perform(get("/api/pokemon/export"))
+                                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andExpect(MockMvcResultMatchers.content().string("{\"id\":1}\n"));
+        }
+
         @Test
         public void PokemonController_PokemonDetail_ReturnPokemonDto() throws Exception {
                 int pokemonId = 1;
@@ -133,6 +207,20 @@ public class PokemonControllerTests {
                 response.andExpect(MockMvcResultMatchers.status().isOk());
         }
 
+        @Test
+        public void PokemonController_DeletePokemonAsync_ReturnAccepted() throws Exception {
+                ReviewDeleteJobDto job = ReviewDeleteJobDto.builder().jobId("job").pokemonId(1)
+                                .status(DeleteJobStatus.RUNNING).totalReviews(5000).build();
+                when(reviewDeleteService.startDeleteJob(1, true)).thenReturn(job);
+
+                ResultActions response = mockMvc.perform(delete("/api/pokemon/1/delete")
+                                .param("async", "true"));
+
+                response.andExpect(MockMvcResultMatchers.status().isAccepted())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.jobId", CoreMatchers.is("job")))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("RUNNING")));
+        }
+
         /*
          * @Autowired
          * private MockMvc mockMvc;
@@ -250,4 +338,34 @@ public class PokemonControllerTests {
                                                 CoreMatchers.is(pokemonDto.getName())));
 
         }
+
+        @Test
+        public void PokemonController_GetPokemonRating_ReturnsRatingDto() throws Exception {
+                PokemonRatingDto ratingDto = PokemonRatingDto.builder().pokemonId(1).reviewCount(2)
+                                .averageStars(4.5).fourStars(1).fiveStars(1).build();
+                when(pokemonRatingService.getRating(1)).thenReturn(ratingDto);
+
+                ResultActions response = mockMvc.perform(get("/api/pokemon/1/rating"));
+
+                response.andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.reviewCount", CoreMatchers.is(2)))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.averageStars", CoreMatchers.is(4.5)));
+        }
+
+        @Test
+        public void PokemonController_GetLeaderboard_ReturnsRanking() throws Exception {
+                PokemonRankDto first = PokemonRankDto.builder().id(1).name("pikachu").type("electric")
+                                .reviewCount(3).averageStars(5).build();
+                PokemonRankDto second = PokemonRankDto.builder().id(2).name("raichu").type("electric")
+                                .reviewCount(1).averageStars(4).build();
+                when(pokemonLeaderboardService.getTopRated("electric", 2)).thenReturn(Arrays.asList(first, second));
+
+                ResultActions response = mockMvc.perform(get("/api/pokemon/leaderboard")
+                                .param("type", "electric")
+                                .param("limit", "2"));
+
+                response.andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", CoreMatchers.is("pikachu")));
+        }
 }
@@ -3,10 +3,19 @@ package com.pokemonreview.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pokemonreview.api.controllers.ReviewController;
 import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.ReviewDeleteJobDto;
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewImportDto;
+import com.pokemonreview.api.dto.ReviewImportResponse;
+import com.pokemonreview.api.dto.ReviewResponse;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.service.DeleteJobStatus;
+import com.pokemonreview.api.service.ReviewDeleteService;
+import com.pokemonreview.api.service.ReviewImportService;
 import com.pokemonreview.api.service.ReviewService;
+import com.pokemonreview.api.service.ReviewSort;
+import org.assertj.core.api.Assertions;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +30,10 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
@@ -36,6 +48,10 @@ public class ReviewControllerTests {
     private MockMvc mockMvc;
     @MockBean
     private ReviewService reviewService;
+    @MockBean
+    private ReviewImportService reviewImportService;
+    @MockBean
+    private ReviewDeleteService reviewDeleteService;
     @Autowired
     private ObjectMapper objectMapper;
     private Pokemon pokemon;
@@ -64,6 +80,23 @@ public class ReviewControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(Arrays.asList(reviewDto).size())));
     }
 
+    @Test
+    public void ReviewController_GetReviewPageByPokemonId_UsesCursorAndSort() throws Exception {
+        ReviewResponse reviewResponse = ReviewResponse.builder().content(List.of(reviewDto)).pageSize(1)
+                .last(false).nextCursor("NToz").build();
+        when(reviewService.getReviewsByPokemonIdAfter(1, "", 1, ReviewSort.STARS)).thenReturn(reviewResponse);
+
+        ResultActions response = mockMvc.perform(get("/api/pokemon/1/reviews/page")
+                .param("pageSize", "1")
+                .param("sort", "STARS")
+                .param("cursor", ""));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is("NToz")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     public void ReviewController_UpdateReview_ReturnReviewDto() throws Exception {
         int pokemonId = 1;
@@ -111,6 +144,26 @@ public class ReviewControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.stars", CoreMatchers.is(reviewDto.getStars())));
     }
 
+    @Test
+    public void ReviewController_ImportReviews_ReturnImportResponse() throws Exception {
+        ReviewImportDto first = ReviewImportDto.builder().pokemonId(1).title("first").content("content").stars(5).build();
+        ReviewImportDto second = ReviewImportDto.builder().pokemonId(2).title("second").content("content").stars(3).build();
+        List<ReviewImportDto> imported = new ArrayList<>();
+        given(reviewImportService.importReviews(ArgumentMatchers.any())).willAnswer(invocation -> {
+            Iterator<ReviewImportDto> reviews = invocation.getArgument(0);
+            reviews.forEachRemaining(imported::add);
+            return ReviewImportResponse.builder().inserted(imported.size()).batchSize(500).build();
+        });
+
+        ResultActions response = mockMvc.perform(post("/api/reviews/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n"));
+
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.inserted", CoreMatchers.is(2)));
+        Assertions.assertThat(imported).containsExactly(first, second);
+    }
+
     @Test
     public void ReviewController_DeleteReview_ReturnOk() throws Exception {
         int pokemonId = 1;
@@ -124,6 +177,33 @@ public class ReviewControllerTests {
         response.andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    @Test
+    public void ReviewController_DeleteReviews_ReturnDeletedCount() throws Exception {
+        when(reviewDeleteService.deleteReviewsByPokemonId(1)).thenReturn(ReviewDeleteJobDto.builder().pokemonId(1)
+                .status(DeleteJobStatus.COMPLETED).totalReviews(3).deletedReviews(3).build());
+
+        ResultActions response = mockMvc.perform(delete("/api/pokemon/1/reviews"));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deletedReviews", CoreMatchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.jobId").doesNotExist());
+    }
+
+    @Test
+    public void ReviewController_DeleteReviewsAsync_ReturnAcceptedJob() throws Exception {
+        ReviewDeleteJobDto job = ReviewDeleteJobDto.builder().jobId("job").pokemonId(1)
+                .status(DeleteJobStatus.RUNNING).totalReviews(5000).deletedReviews(1000).build();
+        when(reviewDeleteService.startDeleteJob(1, false)).thenReturn(job);
+        when(reviewDeleteService.getDeleteJob("job")).thenReturn(job);
+
+        mockMvc.perform(delete("/api/pokemon/1/reviews").param("async", "true"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.jobId", CoreMatchers.is("job")));
+        mockMvc.perform(get("/api/reviews/delete-jobs/job"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deletedReviews", CoreMatchers.is(1000)));
+    }
+
 
 
 
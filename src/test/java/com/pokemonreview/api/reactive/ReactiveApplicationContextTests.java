@@ -0,0 +1,34 @@
+package com.pokemonreview.api.reactive;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/*
+ * Boots the reactive profile, so a wiring problem of the WebFlux/R2DBC variant fails here instead of only when
+ * the application or the WebStackLoadBenchmark is started with it. The database is not shared with the
+ * contexts of the other tests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("reactive")
+public class ReactiveApplicationContextTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    public void ApplicationContext_Reactive_HasJpaAndR2dbcTransactionManagers() {
+        Assertions.assertThat(context.getBean(PlatformTransactionManager.class)).isInstanceOf(JpaTransactionManager.class);
+        Assertions.assertThat(context.getBeansOfType(ReactiveTransactionManager.class)).hasSize(1);
+        Assertions.assertThat(context.getBeansOfType(TransactionalOperator.class)).hasSize(1);
+    }
+}
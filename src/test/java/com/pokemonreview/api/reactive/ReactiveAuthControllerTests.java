@@ -0,0 +1,132 @@
+package com.pokemonreview.api.reactive;
+
+import com.pokemonreview.api.dto.LoginDto;
+import com.pokemonreview.api.reactive.controllers.ReactiveAuthController;
+import com.pokemonreview.api.repository.RoleRepository;
+import com.pokemonreview.api.repository.UserRepository;
+import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.security.LoginRateLimiter;
+import com.pokemonreview.api.security.UserDetailsCache;
+import com.pokemonreview.api.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveAuthController.class,
+        excludeAutoConfiguration = {ReactiveSecurityAutoConfiguration.class, ReactiveUserDetailsServiceAutoConfiguration.class})
+@ActiveProfiles("reactive")
+public class ReactiveAuthControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveAuthenticationManager authenticationManager;
+    @MockBean
+    private UserRepository userRepository;
+    @MockBean
+    private RoleRepository roleRepository;
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+    @MockBean
+    private JWTGenerator jwtGenerator;
+    @MockBean
+    private UserDetailsCache userDetailsCache;
+    @MockBean
+    private Scheduler passwordHashingScheduler;
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    private LoginDto loginDto;
+
+    @BeforeEach
+    public void init() {
+        loginDto = new LoginDto();
+        loginDto.setUsername("ash");
+        loginDto.setPassword("pikachu");
+    }
+
+    @Test
+    public void ReactiveAuthController_Login_ReturnsTokens() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        when(authenticationManager.authenticate(any())).thenReturn(Mono.just(authentication));
+        when(jwtGenerator.generateToken(authentication)).thenReturn("access");
+        when(refreshTokenService.createRefreshToken("ash")).thenReturn("refresh");
+
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accessToken").isEqualTo("access")
+                .jsonPath("$.refreshToken").isEqualTo("refresh");
+    }
+
+    @Test
+    public void ReactiveAuthController_LoginWithBadPassword_Returns401() {
+        when(authenticationManager.authenticate(any())).thenReturn(Mono.error(new BadCredentialsException("Bad credentials")));
+
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginDto)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verify(refreshTokenService, never()).createRefreshToken(anyString());
+    }
+
+    @Test
+    public void ReactiveAuthController_LoginRateLimited_Returns429WithoutHashing() {
+        when(loginRateLimiter.tryAcquire(eq("ash"), any())).thenReturn(3000L);
+
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginDto)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "3");
+
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    public void ReactiveAuthController_HashingPoolFull_Returns503() {
+        when(authenticationManager.authenticate(any())).thenReturn(Mono.error(new RejectedExecutionException()));
+
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginDto)
+                .exchange()
+                .expectStatus().isEqualTo(503);
+    }
+}
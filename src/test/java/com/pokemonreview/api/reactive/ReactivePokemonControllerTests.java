@@ -0,0 +1,93 @@
+package com.pokemonreview.api.reactive;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.reactive.controllers.ReactivePokemonController;
+import com.pokemonreview.api.reactive.service.ReactivePokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactivePokemonController.class,
+        excludeAutoConfiguration = {ReactiveSecurityAutoConfiguration.class, ReactiveUserDetailsServiceAutoConfiguration.class})
+@ActiveProfiles("reactive")
+public class ReactivePokemonControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactivePokemonService pokemonService;
+
+    private PokemonDto pokemonDto;
+
+    @BeforeEach
+    public void init() {
+        pokemonDto = PokemonDto.builder().id(1).name("pikachu").type("electric").build();
+    }
+
+    @Test
+    public void ReactivePokemonController_GetAllPokemon_ReturnResponseDto() {
+        PokemonResponse responseDto = PokemonResponse.builder().pageSize(10).last(true).pageNo(1)
+                .content(Arrays.asList(pokemonDto)).build();
+        when(pokemonService.getAllPokemon(1, 10)).thenReturn(Mono.just(responseDto));
+
+        webTestClient.get().uri("/api/pokemon?pageNo=1&pageSize=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("pikachu");
+    }
+
+    @Test
+    public void ReactivePokemonController_GetAllPokemonWithCursor_UsesKeysetPage() {
+        PokemonResponse responseDto = PokemonResponse.builder().pageSize(10).last(false).nextCursor("MQ")
+                .content(Arrays.asList(pokemonDto)).build();
+        when(pokemonService.getAllPokemonAfter("", 10)).thenReturn(Mono.just(responseDto));
+
+        webTestClient.get().uri("/api/pokemon?cursor=&pageSize=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nextCursor").isEqualTo("MQ");
+    }
+
+    @Test
+    public void ReactivePokemonController_CreatePokemon_ReturnCreated() {
+        when(pokemonService.createPokemon(any())).thenReturn(Mono.just(pokemonDto));
+
+        webTestClient.post().uri("/api/pokemon/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(pokemonDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("electric");
+    }
+
+    @Test
+    public void ReactivePokemonController_PokemonDetail_NotFoundReturns404() {
+        when(pokemonService.getPokemonById(2)).thenReturn(Mono.error(new PokemonNotFoundException("Pokemon could not be found")));
+
+        webTestClient.get().uri("/api/pokemon/2")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Pokemon could not be found");
+    }
+}
@@ -0,0 +1,114 @@
+package com.pokemonreview.api.reactive;
+
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.reactive.models.PokemonRow;
+import com.pokemonreview.api.reactive.models.ReviewRow;
+import com.pokemonreview.api.reactive.repository.ReactivePokemonRepository;
+import com.pokemonreview.api.reactive.repository.ReactiveReviewIdAllocator;
+import com.pokemonreview.api.reactive.repository.ReactiveReviewRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// runs the hand-written R2DBC SQL against the H2 schema that Hibernate creates in the reactive profile
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("reactive")
+public class ReactiveReviewRepositoryTests {
+
+    @Autowired
+    private ReactiveReviewRepository reviewRepository;
+    @Autowired
+    private ReactivePokemonRepository pokemonRepository;
+    @Autowired
+    private ReactiveReviewIdAllocator reviewIdAllocator;
+    @Autowired
+    private R2dbcEntityTemplate entityTemplate;
+    @Autowired
+    private ReviewRepository jpaReviewRepository;
+    @Autowired
+    private PokemonRepository jpaPokemonRepository;
+
+    private PokemonRow pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(new PokemonRow(null, "pikachu", "electric")).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteByPokemonId(pokemon.getId()).block();
+        pokemonRepository.deleteRatingByPokemonId(pokemon.getId()).block();
+        pokemonRepository.deleteById(pokemon.getId()).block();
+    }
+
+    @Test
+    public void ReactiveReviewRepository_NextIdBlock_ReservesAllocationSize() {
+        long first = reviewRepository.nextIdBlock().block();
+        long second = reviewRepository.nextIdBlock().block();
+
+        Assertions.assertThat(second - first).isEqualTo(Review.ID_ALLOCATION_SIZE);
+    }
+
+    @Test
+    public void ReactiveReviewIdAllocator_NextId_UsesWholeBlockBeforeReadingSequence() {
+        List<Integer> ids = Flux.range(0, Review.ID_ALLOCATION_SIZE * 2)
+                .concatMap(i -> reviewIdAllocator.nextId())
+                .collectList().block();
+        long sequenceValue = reviewRepository.nextIdBlock().block();
+
+        Assertions.assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        // two blocks were read for 100 ids, not 100 values
+        Assertions.assertThat(sequenceValue - ids.get(ids.size() - 1)).isLessThanOrEqualTo(Review.ID_ALLOCATION_SIZE * 2);
+    }
+
+    @Test
+    public void ReactiveReviewIdAllocator_NextId_NeverCollidesWithJpaIds() {
+        Pokemon jpaPokemon = jpaPokemonRepository.findById(pokemon.getId()).get();
+        Set<Integer> jpaIds = Flux.range(0, 3)
+                .map(i -> jpaReviewRepository.save(Review.builder().title("title").content("content").stars(3)
+                        .pokemon(jpaPokemon).build()).getId())
+                .collect(Collectors.toSet()).block();
+
+        List<Integer> reactiveIds = Flux.range(0, 3).concatMap(i -> reviewIdAllocator.nextId()
+                        .flatMap(id -> entityTemplate.insert(new ReviewRow(id, "title", "content", 4, pokemon.getId()))))
+                .map(ReviewRow::getId)
+                .collectList().block();
+
+        Assertions.assertThat(reactiveIds).doesNotContainAnyElementsOf(jpaIds);
+        Assertions.assertThat(reviewRepository.countByPokemonId(pokemon.getId()).block()).isEqualTo(6);
+    }
+
+    @Test
+    public void ReactiveReviewRepository_FindByPokemonIdBeforeStars_ReturnsStarsOrderWithLimit() {
+        List<ReviewRow> reviews = Flux.just(3, 5, 3, 1)
+                .concatMap(stars -> reviewIdAllocator.nextId()
+                        .flatMap(id -> entityTemplate.insert(new ReviewRow(id, "title", "content", stars, pokemon.getId()))))
+                .collectList().block();
+
+        List<ReviewRow> firstPage = reviewRepository.findByPokemonIdBeforeStars(pokemon.getId(), Integer.MAX_VALUE, Integer.MAX_VALUE, 2)
+                .collectList().block();
+        ReviewRow last = firstPage.get(1);
+        List<ReviewRow> nextPage = reviewRepository.findByPokemonIdBeforeStars(pokemon.getId(), last.getStars(), last.getId(), 2)
+                .collectList().block();
+
+        Assertions.assertThat(firstPage).extracting(ReviewRow::getId).containsExactly(reviews.get(1).getId(), reviews.get(2).getId());
+        Assertions.assertThat(nextPage).extracting(ReviewRow::getId).containsExactly(reviews.get(0).getId(), reviews.get(3).getId());
+    }
+}
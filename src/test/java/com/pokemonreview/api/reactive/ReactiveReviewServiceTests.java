@@ -0,0 +1,135 @@
+package com.pokemonreview.api.reactive;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.reactive.models.PokemonRatingRow;
+import com.pokemonreview.api.reactive.models.PokemonRow;
+import com.pokemonreview.api.reactive.models.ReviewRow;
+import com.pokemonreview.api.reactive.repository.ReactivePokemonRatingRepository;
+import com.pokemonreview.api.reactive.repository.ReactivePokemonRepository;
+import com.pokemonreview.api.reactive.repository.ReactiveReviewIdAllocator;
+import com.pokemonreview.api.reactive.repository.ReactiveReviewRepository;
+import com.pokemonreview.api.reactive.service.ReactivePokemonService;
+import com.pokemonreview.api.reactive.service.ReactiveReviewService;
+import com.pokemonreview.api.service.PokemonLeaderboardService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.mockito.Mockito.verify;
+
+// the reactive review writes against r2dbc-h2, checking that they keep pokemon_rating in step
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("reactive")
+public class ReactiveReviewServiceTests {
+
+    @Autowired
+    private ReactiveReviewService reviewService;
+    @Autowired
+    private ReactivePokemonService pokemonService;
+    @Autowired
+    private ReactivePokemonRepository pokemonRepository;
+    @Autowired
+    private ReactiveReviewRepository reviewRepository;
+    @Autowired
+    private ReactivePokemonRatingRepository ratingRepository;
+    @Autowired
+    private ReactiveReviewIdAllocator reviewIdAllocator;
+    @Autowired
+    private R2dbcEntityTemplate entityTemplate;
+    @MockBean
+    private PokemonLeaderboardService pokemonLeaderboardService;
+
+    private int pokemonId;
+
+    @BeforeEach
+    public void init() {
+        pokemonId = pokemonService.createPokemon(PokemonDto.builder().name("pikachu").type("electric").build()).block().getId();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteByPokemonId(pokemonId).block();
+        pokemonRepository.deleteRatingByPokemonId(pokemonId).block();
+        pokemonRepository.deleteById(pokemonId).block();
+    }
+
+    @Test
+    public void ReactivePokemonService_CreatePokemon_CreatesEmptyRating() {
+        PokemonRatingRow rating = ratingRepository.findById(pokemonId).block();
+
+        Assertions.assertThat(rating.getReviewCount()).isZero();
+        Assertions.assertThat(rating.getStarsSum()).isZero();
+    }
+
+    @Test
+    public void ReactiveReviewService_CreateReview_AddsToRating() {
+        reviewService.createReview(pokemonId, review(5)).block();
+        reviewService.createReview(pokemonId, review(3)).block();
+
+        PokemonRatingRow rating = ratingRepository.findById(pokemonId).block();
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(2);
+        Assertions.assertThat(rating.getStarsSum()).isEqualTo(8);
+        verify(pokemonLeaderboardService).ratingChanged(pokemonId, 2, 8);
+    }
+
+    @Test
+    public void ReactiveReviewService_UpdateReview_MovesStars() {
+        ReviewDto created = reviewService.createReview(pokemonId, review(5)).block();
+
+        reviewService.updateReview(pokemonId, created.getId(), review(2)).block();
+
+        PokemonRatingRow rating = ratingRepository.findById(pokemonId).block();
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(1);
+        Assertions.assertThat(rating.getStarsSum()).isEqualTo(2);
+    }
+
+    @Test
+    public void ReactiveReviewService_DeleteReview_RemovesFromRating() {
+        ReviewDto created = reviewService.createReview(pokemonId, review(5)).block();
+        reviewService.createReview(pokemonId, review(4)).block();
+
+        reviewService.deleteReview(pokemonId, created.getId()).block();
+
+        PokemonRatingRow rating = ratingRepository.findById(pokemonId).block();
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(1);
+        Assertions.assertThat(rating.getStarsSum()).isEqualTo(4);
+        verify(pokemonLeaderboardService).ratingChanged(pokemonId, 1, 4);
+    }
+
+    // a pokemon whose rating row is missing, e.g. inserted with SQL, is seeded from its reviews on the next write
+    @Test
+    public void ReactiveReviewService_CreateReviewWithoutRating_SeedsFromReviews() {
+        pokemonRepository.deleteRatingByPokemonId(pokemonId).block();
+        reviewIdAllocator.nextId()
+                .flatMap(id -> entityTemplate.insert(new ReviewRow(id, "title", "content", 4, pokemonId)))
+                .block();
+
+        reviewService.createReview(pokemonId, review(2)).block();
+
+        PokemonRatingRow rating = ratingRepository.findById(pokemonId).block();
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(2);
+        Assertions.assertThat(rating.getStarsSum()).isEqualTo(6);
+    }
+
+    @Test
+    public void ReactiveReviewService_CreateReviewForMissingPokemon_LeavesRatingsAlone() {
+        Assertions.assertThatThrownBy(() -> reviewService.createReview(Integer.MAX_VALUE, review(5)).block())
+                .isInstanceOf(PokemonNotFoundException.class);
+
+        Assertions.assertThat(ratingRepository.findById(Integer.MAX_VALUE).block()).isNull();
+    }
+
+    private static ReviewDto review(int stars) {
+        return ReviewDto.builder().title("title").content("content").stars(stars).build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.pokemonreview.api.reactive.security;
+
+import com.pokemonreview.api.security.JWTPrincipal;
+import com.pokemonreview.api.security.JWTTokenCache;
+import com.pokemonreview.api.security.UserDetailsCache;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.server.WebFilterChain;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JWTWebFilterTests {
+
+    @Mock
+    private JWTTokenCache tokenCache;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    // the authentication the rest of the chain sees, null when it runs unauthenticated
+    private final AtomicReference<Authentication> authentication = new AtomicReference<>();
+    private final WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .doOnNext(authentication::set)
+            .then();
+
+    @Test
+    public void JWTWebFilter_CachedUser_AuthenticatesWithoutLoading() {
+        UserDetails userDetails = new User("ash", "", Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.of(principal(null)));
+        when(userDetailsCache.getIfPresent("ash")).thenReturn(Optional.of(userDetails));
+
+        new JWTWebFilter(tokenCache, userDetailsCache, false).filter(exchange("Bearer token"), chain).block();
+
+        Assertions.assertThat(authentication.get().getPrincipal()).isSameAs(userDetails);
+        verify(userDetailsCache, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    public void JWTWebFilter_UncachedUser_LoadsUser() {
+        UserDetails userDetails = new User("ash", "", Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.of(principal(null)));
+        when(userDetailsCache.getIfPresent("ash")).thenReturn(Optional.empty());
+        when(userDetailsCache.loadUserByUsername("ash")).thenReturn(userDetails);
+
+        new JWTWebFilter(tokenCache, userDetailsCache, false).filter(exchange("Bearer token"), chain).block();
+
+        Assertions.assertThat(authentication.get().getPrincipal()).isSameAs(userDetails);
+    }
+
+    @Test
+    public void JWTWebFilter_StatelessAuthorities_TakesRolesFromToken() {
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.of(principal(List.of("ADMIN"))));
+
+        new JWTWebFilter(tokenCache, userDetailsCache, true).filter(exchange("Bearer token"), chain).block();
+
+        Assertions.assertThat(authentication.get().getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ADMIN");
+        verifyNoInteractions(userDetailsCache);
+    }
+
+    @Test
+    public void JWTWebFilter_UnknownUser_ContinuesUnauthenticated() {
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.of(principal(null)));
+        when(userDetailsCache.getIfPresent("ash")).thenReturn(Optional.empty());
+        when(userDetailsCache.loadUserByUsername("ash")).thenThrow(new UsernameNotFoundException("ash"));
+
+        new JWTWebFilter(tokenCache, userDetailsCache, false).filter(exchange("Bearer token"), chain).block();
+
+        Assertions.assertThat(authentication.get()).isNull();
+    }
+
+    @Test
+    public void JWTWebFilter_NoBearerToken_SkipsTokenCache() {
+        new JWTWebFilter(tokenCache, userDetailsCache, false).filter(exchange("Basic YXNoOnB3"), chain).block();
+
+        Assertions.assertThat(authentication.get()).isNull();
+        verifyNoInteractions(tokenCache, userDetailsCache);
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/pokemon").header("Authorization", authorization));
+    }
+
+    private static JWTPrincipal principal(List<String> authorities) {
+        Instant now = Instant.now();
+        return new JWTPrincipal("ash", now, now.plusSeconds(60), authorities);
+    }
+}
@@ -1,5 +1,6 @@
 package com.pokemonreview.api.repository;
 
+import com.pokemonreview.api.dto.PokemonDto;
 import com.pokemonreview.api.models.Pokemon;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -7,7 +8,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -78,6 +81,37 @@ public class PokemonRepositoryTests {
         Assertions.assertThat(pokemonList).isNotNull();
     }
 
+    @Test
+    public void PokemonRepository_FindDtosAfterId_ReturnsNextPokemon() {
+        Pokemon pokemon = Pokemon.builder()
+                .name("pikachu")
+                .type("electric").build();
+        Pokemon pokemon2 = Pokemon.builder()
+                .name("charmander")
+                .type("fire").build();
+
+        pokemonRepository.save(pokemon);
+        pokemonRepository.save(pokemon2);
+
+        List<PokemonDto> pokemonList = pokemonRepository.findDtosAfterId(pokemon.getId(), PageRequest.of(0, 10));
+
+        Assertions.assertThat(pokemonList).hasSize(1);
+        Assertions.assertThat(pokemonList.get(0).getName()).isEqualTo("charmander");
+    }
+
+    @Test
+    public void PokemonRepository_FindExistingIds_ReturnsOnlyExistingIds() {
+        Pokemon pokemon = Pokemon.builder()
+                .name("pikachu")
+                .type("electric").build();
+
+        pokemonRepository.save(pokemon);
+
+        List<Integer> existingIds = pokemonRepository.findExistingIds(Arrays.asList(pokemon.getId(), pokemon.getId() + 1));
+
+        Assertions.assertThat(existingIds).containsExactly(pokemon.getId());
+    }
+
     @Test
     public void PokemonRepository_UpdatePokemon_ReturnPokemonNotNull() {
         Pokemon pokemon = Pokemon.builder()
@@ -1,5 +1,7 @@
 package com.pokemonreview.api.repository;
 
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -7,6 +9,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,10 +19,12 @@ import java.util.Optional;
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
 public class ReviewRepositoryTests {
     private ReviewRepository reviewRepository;
+    private TestEntityManager testEntityManager;
 
     @Autowired
-    public ReviewRepositoryTests(ReviewRepository reviewRepository) {
+    public ReviewRepositoryTests(ReviewRepository reviewRepository, TestEntityManager testEntityManager) {
         this.reviewRepository = reviewRepository;
+        this.testEntityManager = testEntityManager;
     }
 
     @Test
@@ -107,4 +113,22 @@ public class ReviewRepositoryTests {
         Assertions.assertThat(findAll.get(0).getId()).isGreaterThan(0);
     }
 
+    @Test
+    public void ReviewRepository_FindDtosByPokemonIdBeforeStars_ReturnsNextReviewsByStars() {
+        Pokemon pokemon = testEntityManager.persist(Pokemon.builder().name("pikachu").type("electric").build());
+        Pokemon other = testEntityManager.persist(Pokemon.builder().name("raichu").type("electric").build());
+        Review low = reviewRepository.save(Review.builder().title("title").content("content").stars(2).pokemon(pokemon).build());
+        Review high = reviewRepository.save(Review.builder().title("title").content("content").stars(5).pokemon(pokemon).build());
+        Review highLater = reviewRepository.save(Review.builder().title("title").content("content").stars(5).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("title").content("content").stars(4).pokemon(other).build());
+
+        List<ReviewDto> firstPage = reviewRepository.findDtosByPokemonIdBeforeStars(pokemon.getId(), Integer.MAX_VALUE,
+                Integer.MAX_VALUE, PageRequest.of(0, 2));
+        List<ReviewDto> secondPage = reviewRepository.findDtosByPokemonIdBeforeStars(pokemon.getId(), high.getStars(),
+                high.getId(), PageRequest.of(0, 2));
+
+        Assertions.assertThat(firstPage).extracting(ReviewDto::getId).containsExactly(highLater.getId(), high.getId());
+        Assertions.assertThat(secondPage).extracting(ReviewDto::getId).containsExactly(low.getId());
+    }
+
 }
@@ -0,0 +1,107 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.config.CacheConfig;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/*
+ * Every repository call runs in its own transaction here, like in the services, so that the statistics show
+ * which reads are served by the second-level and query caches instead of the database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTests {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 100, Sort.by("id"));
+
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        reviewRepository.save(Review.builder().title("title").content("content").stars(5).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("title").content("content").stars(3).pokemon(pokemon).build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteAll();
+        pokemonRepository.deleteAll();
+    }
+
+    @Test
+    public void PokemonRepository_FindById_ServedFromSecondLevelCache() {
+        pokemonRepository.findById(pokemon.getId());
+        statistics.clear();
+
+        Pokemon cachedPokemon = pokemonRepository.findById(pokemon.getId()).get();
+
+        Assertions.assertThat(cachedPokemon.getName()).isEqualTo("pikachu");
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void ReviewRepository_FindDtosByPokemonId_ServedFromQueryCache() {
+        reviewRepository.findDtosByPokemonId(pokemon.getId(), FIRST_PAGE);
+        statistics.clear();
+
+        List<ReviewDto> reviews = reviewRepository.findDtosByPokemonId(pokemon.getId(), FIRST_PAGE);
+
+        Assertions.assertThat(reviews).hasSize(2);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void ReviewRepository_FindDtosByPokemonId_InvalidatedByInsert() {
+        reviewRepository.findDtosByPokemonId(pokemon.getId(), FIRST_PAGE);
+
+        reviewRepository.save(Review.builder().title("title").content("content").stars(1).pokemon(pokemon).build());
+        List<ReviewDto> reviews = reviewRepository.findDtosByPokemonId(pokemon.getId(), FIRST_PAGE);
+
+        Assertions.assertThat(reviews).hasSize(3);
+    }
+
+    @Test
+    public void PokemonRepository_FindById_InvalidatedByUpdate() {
+        Pokemon cachedPokemon = pokemonRepository.findById(pokemon.getId()).get();
+
+        cachedPokemon.setName("raichu");
+        pokemonRepository.save(cachedPokemon);
+
+        Assertions.assertThat(pokemonRepository.findById(pokemon.getId()).get().getName()).isEqualTo("raichu");
+    }
+}
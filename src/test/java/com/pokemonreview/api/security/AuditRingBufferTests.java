@@ -0,0 +1,75 @@
+package com.pokemonreview.api.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class AuditRingBufferTests {
+
+    @Test
+    public void AuditRingBuffer_Offer_RejectsWhenFull() {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(3);
+
+        for (int i = 0; i < ring.capacity(); i++) {
+            Assertions.assertThat(ring.offer(i)).isTrue();
+        }
+
+        Assertions.assertThat(ring.capacity()).isEqualTo(4);
+        Assertions.assertThat(ring.offer(4)).isFalse();
+        Assertions.assertThat(ring.poll()).isZero();
+        Assertions.assertThat(ring.offer(4)).isTrue();
+    }
+
+    // 8 producers race for the slots while one consumer drains, every accepted element arrives exactly once
+    @Test
+    public void AuditRingBuffer_ConcurrentProducers_DeliverEveryAcceptedElement() throws Exception {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(64);
+        int producers = 8;
+        int perProducer = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> accepted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int offset = p * perProducer;
+                accepted.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < perProducer; i++) {
+                        if (ring.offer(offset + i)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+
+            Set<Integer> received = new HashSet<>();
+            int duplicates = 0;
+            while (!accepted.stream().allMatch(Future::isDone) || ring.size() > 0) {
+                Integer element = ring.poll();
+                if (element != null && !received.add(element)) {
+                    duplicates++;
+                }
+            }
+            int total = 0;
+            for (Future<Integer> future : accepted) {
+                total += future.get();
+            }
+
+            Assertions.assertThat(duplicates).isZero();
+            Assertions.assertThat(received).hasSize(total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
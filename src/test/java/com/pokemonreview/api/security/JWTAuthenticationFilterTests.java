@@ -0,0 +1,121 @@
+package com.pokemonreview.api.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JWTAuthenticationFilterTests {
+
+    @Mock
+    private JWTTokenCache tokenCache;
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    private JWTAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockFilterChain filterChain;
+
+    @BeforeEach
+    public void init() {
+        filter = new JWTAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenCache", tokenCache);
+        ReflectionTestUtils.setField(filter, "userDetailsCache", new UserDetailsCache(userDetailsService));
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        filterChain = new MockFilterChain();
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_StatelessAuthorities_UsesRolesClaimWithoutLoadingUser() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessAuthorities", true);
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.of(principal(Arrays.asList("USER", "ADMIN"))));
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Assertions.assertThat(authentication.getName()).isEqualTo("ash");
+        Assertions.assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("USER", "ADMIN");
+        Assertions.assertThat(filterChain.getRequest()).isSameAs(request);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_StatelessAuthoritiesWithoutClaim_LoadsUser() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessAuthorities", true);
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.of(principal(null)));
+        when(userDetailsService.loadUserByUsername("ash")).thenReturn(user());
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Assertions.assertThat(authentication.getName()).isEqualTo("ash");
+        Assertions.assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("USER");
+        verify(userDetailsService, times(1)).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_StatelessAuthoritiesDisabled_IgnoresRolesClaim() throws Exception {
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.of(principal(Arrays.asList("USER", "ADMIN"))));
+        when(userDetailsService.loadUserByUsername("ash")).thenReturn(user());
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("USER");
+        verify(userDetailsService, times(1)).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_InvalidToken_ContinuesUnauthenticated() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessAuthorities", true);
+        when(tokenCache.getPrincipal("token")).thenReturn(Optional.empty());
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        Assertions.assertThat(filterChain.getRequest()).isSameAs(request);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private static JWTPrincipal principal(List<String> authorities) {
+        Instant now = Instant.now();
+        return new JWTPrincipal("ash", now, now.plusSeconds(60), authorities);
+    }
+
+    private static User user() {
+        return new User("ash", "password", Collections.singletonList(new SimpleGrantedAuthority("USER")));
+    }
+}
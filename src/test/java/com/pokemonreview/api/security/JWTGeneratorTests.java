@@ -0,0 +1,94 @@
+package com.pokemonreview.api.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Optional;
+
+public class JWTGeneratorTests {
+
+    private final JWTKeyRing keyRing = JWTKeyRing.generated();
+    private final JWTGenerator jwtGenerator = new JWTGenerator(keyRing);
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken("ash", null,
+            Arrays.asList(new SimpleGrantedAuthority("USER"), new SimpleGrantedAuthority("ADMIN")));
+
+    @Test
+    public void JWTGenerator_Parse_ReturnsPrincipal() {
+        Instant before = Instant.now().minusSeconds(1);
+        String token = jwtGenerator.generateToken(authentication);
+
+        Optional<JWTPrincipal> principal = jwtGenerator.parse(token);
+
+        Assertions.assertThat(principal).isPresent();
+        Assertions.assertThat(principal.get().subject()).isEqualTo("ash");
+        Assertions.assertThat(principal.get().issuedAt()).isAfter(before);
+        // the dates of a token have a precision of one second
+        Assertions.assertThat(principal.get().expiration()).isBetween(
+                principal.get().issuedAt().plusMillis(SecurityConstants.JWT_EXPIRATION - 1000),
+                principal.get().issuedAt().plusMillis(SecurityConstants.JWT_EXPIRATION + 1000));
+        Assertions.assertThat(principal.get().authorities()).isNull();
+    }
+
+    @Test
+    public void JWTGenerator_ParseStatelessAuthorities_ReturnsRoles() {
+        ReflectionTestUtils.setField(jwtGenerator, "statelessAuthorities", true);
+        String token = jwtGenerator.generateToken(authentication);
+
+        Optional<JWTPrincipal> principal = jwtGenerator.parse(token);
+
+        Assertions.assertThat(principal).isPresent();
+        Assertions.assertThat(principal.get().authorities()).containsExactly("USER", "ADMIN");
+    }
+
+    @Test
+    public void JWTGenerator_ParseTamperedToken_ReturnsEmpty() {
+        String token = jwtGenerator.generateToken(authentication);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Jwts.builder().setSubject("misty").compact().split("\\.")[1];
+
+        Assertions.assertThat(jwtGenerator.parse(parts[0] + "." + forgedPayload + "." + parts[2])).isEmpty();
+        Assertions.assertThat(jwtGenerator.validateToken(parts[0] + "." + forgedPayload + "." + parts[2])).isFalse();
+    }
+
+    @Test
+    public void JWTGenerator_ParseExpiredToken_ReturnsEmpty() {
+        JWTKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+        Instant issuedAt = Instant.now().minusSeconds(120);
+        String token = Jwts.builder()
+                .setSubject("ash")
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(issuedAt.plusSeconds(60)))
+                .signWith(signingKey.key(), signingKey.algorithm())
+                .compact();
+
+        Assertions.assertThat(jwtGenerator.parse(token)).isEmpty();
+    }
+
+    @Test
+    public void JWTGenerator_ParseTokenOfOtherKey_ReturnsEmpty() {
+        String token = Jwts.builder()
+                .setSubject("ash")
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS512))
+                .compact();
+
+        Assertions.assertThat(jwtGenerator.parse(token)).isEmpty();
+    }
+
+    @Test
+    public void JWTGenerator_ParseMalformedToken_ReturnsEmpty() {
+        Assertions.assertThat(jwtGenerator.parse("not-a-token")).isEmpty();
+        Assertions.assertThat(jwtGenerator.parse("")).isEmpty();
+    }
+}
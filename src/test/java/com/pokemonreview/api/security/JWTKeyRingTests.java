@@ -0,0 +1,165 @@
+package com.pokemonreview.api.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Collections;
+
+public class JWTKeyRingTests {
+
+    @TempDir
+    Path directory;
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken("ash", null,
+            Collections.singletonList(new SimpleGrantedAuthority("USER")));
+
+    @Test
+    public void JWTKeyRing_RS256_SignsWithKeyIdAndVerifies() throws Exception {
+        writeKeyPair("k1", rsaKeyPair());
+        JWTGenerator jwtGenerator = new JWTGenerator(new JWTKeyRing("RS256", directory.toString(), ""));
+
+        String token = jwtGenerator.generateToken(authentication);
+
+        Assertions.assertThat(keyId(token)).isEqualTo("k1");
+        Assertions.assertThat(jwtGenerator.getUsernameFromJWT(token)).isEqualTo("ash");
+    }
+
+    @Test
+    public void JWTKeyRing_ES256_SignsWithKeyIdAndVerifies() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        writeKeyPair("k1", generator.generateKeyPair());
+        JWTGenerator jwtGenerator = new JWTGenerator(new JWTKeyRing("ES256", directory.toString(), ""));
+
+        String token = jwtGenerator.generateToken(authentication);
+
+        Assertions.assertThat(keyId(token)).isEqualTo("k1");
+        Assertions.assertThat(jwtGenerator.validateToken(token)).isTrue();
+    }
+
+    @Test
+    public void JWTKeyRing_Reload_SignsWithNewKeyAndVerifiesOldTokens() throws Exception {
+        writeKeyPair("k1", rsaKeyPair());
+        JWTKeyRing keyRing = new JWTKeyRing("RS256", directory.toString(), "");
+        JWTGenerator jwtGenerator = new JWTGenerator(keyRing);
+        String oldToken = jwtGenerator.generateToken(authentication);
+
+        writeKeyPair("k2", rsaKeyPair());
+        keyRing.reload();
+        String newToken = jwtGenerator.generateToken(authentication);
+
+        Assertions.assertThat(keyId(newToken)).isEqualTo("k2");
+        Assertions.assertThat(jwtGenerator.validateToken(oldToken)).isTrue();
+        Assertions.assertThat(jwtGenerator.validateToken(newToken)).isTrue();
+    }
+
+    @Test
+    public void JWTKeyRing_RetiredPublicKey_RejectsOldTokens() throws Exception {
+        writeKeyPair("k1", rsaKeyPair());
+        JWTKeyRing keyRing = new JWTKeyRing("RS256", directory.toString(), "");
+        JWTGenerator jwtGenerator = new JWTGenerator(keyRing);
+        String oldToken = jwtGenerator.generateToken(authentication);
+
+        writeKeyPair("k2", rsaKeyPair());
+        Files.delete(directory.resolve("k1" + JWTKeyRing.PUBLIC_KEY_SUFFIX));
+        Files.delete(directory.resolve("k1" + JWTKeyRing.PRIVATE_KEY_SUFFIX));
+        keyRing.reload();
+
+        Assertions.assertThat(jwtGenerator.validateToken(oldToken)).isFalse();
+        Assertions.assertThat(jwtGenerator.validateToken(jwtGenerator.generateToken(authentication))).isTrue();
+    }
+
+    @Test
+    public void JWTKeyRing_RetiredPublicKey_RejectsCachedTokens() throws Exception {
+        writeKeyPair("k1", rsaKeyPair());
+        JWTKeyRing keyRing = new JWTKeyRing("RS256", directory.toString(), "");
+        JWTGenerator jwtGenerator = new JWTGenerator(keyRing);
+        JWTTokenCache tokenCache = new JWTTokenCache(jwtGenerator, keyRing);
+        String oldToken = jwtGenerator.generateToken(authentication);
+        Assertions.assertThat(tokenCache.getPrincipal(oldToken)).isPresent();
+        Assertions.assertThat(tokenCache.getPrincipal(oldToken)).isPresent();
+
+        writeKeyPair("k2", rsaKeyPair());
+        Files.delete(directory.resolve("k1" + JWTKeyRing.PUBLIC_KEY_SUFFIX));
+        Files.delete(directory.resolve("k1" + JWTKeyRing.PRIVATE_KEY_SUFFIX));
+        keyRing.reload();
+        String newToken = jwtGenerator.generateToken(authentication);
+
+        Assertions.assertThat(tokenCache.getPrincipal(oldToken)).isEmpty();
+        Assertions.assertThat(tokenCache.getPrincipal(newToken)).isPresent();
+        Assertions.assertThat(tokenCache.getHitCount()).isEqualTo(1);
+        Assertions.assertThat(tokenCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void JWTKeyRing_ActiveKeyId_SignsWithConfiguredKey() throws Exception {
+        writeKeyPair("k1", rsaKeyPair());
+        writeKeyPair("k2", rsaKeyPair());
+        JWTGenerator jwtGenerator = new JWTGenerator(new JWTKeyRing("RS256", directory.toString(), "k1"));
+
+        Assertions.assertThat(keyId(jwtGenerator.generateToken(authentication))).isEqualTo("k1");
+    }
+
+    @Test
+    public void JWTKeyRing_ForeignKey_RejectsToken() throws Exception {
+        writeKeyPair("k1", rsaKeyPair());
+        JWTGenerator jwtGenerator = new JWTGenerator(new JWTKeyRing("RS256", directory.toString(), ""));
+
+        // signed with a key of the same kid that the ring does not hold, and with a kid the ring does not know
+        String forged = Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, "k1").setSubject("ash")
+                .signWith(rsaKeyPair().getPrivate()).compact();
+        String unknown = Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, "k9").setSubject("ash")
+                .signWith(rsaKeyPair().getPrivate()).compact();
+
+        Assertions.assertThat(jwtGenerator.validateToken(forged)).isFalse();
+        Assertions.assertThat(jwtGenerator.validateToken(unknown)).isFalse();
+    }
+
+    @Test
+    public void JWTKeyRing_BrokenReload_KeepsCurrentKeys() throws Exception {
+        writeKeyPair("k1", rsaKeyPair());
+        JWTKeyRing keyRing = new JWTKeyRing("RS256", directory.toString(), "");
+        JWTGenerator jwtGenerator = new JWTGenerator(keyRing);
+        String token = jwtGenerator.generateToken(authentication);
+
+        // a private key published before its public key
+        Files.writeString(directory.resolve("k2" + JWTKeyRing.PRIVATE_KEY_SUFFIX),
+                pem("PRIVATE KEY", rsaKeyPair().getPrivate().getEncoded()));
+        keyRing.reload();
+
+        Assertions.assertThat(keyRing.getSigningKey().keyId()).isEqualTo("k1");
+        Assertions.assertThat(jwtGenerator.validateToken(token)).isTrue();
+    }
+
+    private KeyPair rsaKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private void writeKeyPair(String keyId, KeyPair keyPair) throws Exception {
+        Files.writeString(directory.resolve(keyId + JWTKeyRing.PUBLIC_KEY_SUFFIX), pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        Files.writeString(directory.resolve(keyId + JWTKeyRing.PRIVATE_KEY_SUFFIX), pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+    }
+
+    private static String pem(String type, byte[] encoded) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(encoded) + "\n-----END " + type + "-----\n";
+    }
+
+    private static String keyId(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))))
+                .replaceAll(".*\"kid\":\"([^\"]*)\".*", "$1");
+    }
+}
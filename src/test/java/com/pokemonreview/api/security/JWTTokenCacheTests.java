@@ -0,0 +1,102 @@
+package com.pokemonreview.api.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JWTTokenCacheTests {
+
+    @Mock
+    private JWTGenerator jwtGenerator;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    public void JWTTokenCache_GetPrincipal_ParsesTokenOnce() {
+        JWTTokenCache tokenCache = new JWTTokenCache(jwtGenerator, JWTKeyRing.generated(), 10, ticker);
+        JWTPrincipal principal = principal(60);
+        when(jwtGenerator.parse("token")).thenReturn(Optional.of(principal));
+
+        tokenCache.getPrincipal("token");
+        Optional<JWTPrincipal> cached = tokenCache.getPrincipal("token");
+
+        Assertions.assertThat(cached).containsSame(principal);
+        Assertions.assertThat(tokenCache.getHitCount()).isEqualTo(1);
+        Assertions.assertThat(tokenCache.getMissCount()).isEqualTo(1);
+        verify(jwtGenerator, times(1)).parse("token");
+    }
+
+    @Test
+    public void JWTTokenCache_TokenExpired_ParsesTokenAgain() {
+        JWTTokenCache tokenCache = new JWTTokenCache(jwtGenerator, JWTKeyRing.generated(), 10, ticker);
+        when(jwtGenerator.parse("token")).thenReturn(Optional.of(principal(60)));
+
+        tokenCache.getPrincipal("token");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        tokenCache.getPrincipal("token");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        tokenCache.getPrincipal("token");
+
+        Assertions.assertThat(tokenCache.getHitCount()).isEqualTo(1);
+        verify(jwtGenerator, times(2)).parse("token");
+    }
+
+    @Test
+    public void JWTTokenCache_TickerAdvancedBeforeParse_ExpiresAtExpClaim() {
+        JWTTokenCache tokenCache = new JWTTokenCache(jwtGenerator, JWTKeyRing.generated(), 10, ticker);
+        when(jwtGenerator.parse("token")).thenReturn(Optional.of(principal(60)));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        tokenCache.getPrincipal("token");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        tokenCache.getPrincipal("token");
+
+        Assertions.assertThat(tokenCache.getHitCount()).isZero();
+        verify(jwtGenerator, times(2)).parse("token");
+    }
+
+    @Test
+    public void JWTTokenCache_InvalidToken_IsNotCached() {
+        JWTTokenCache tokenCache = new JWTTokenCache(jwtGenerator, JWTKeyRing.generated(), 10, ticker);
+        when(jwtGenerator.parse("forged")).thenReturn(Optional.empty());
+
+        Assertions.assertThat(tokenCache.getPrincipal("forged")).isEmpty();
+        Assertions.assertThat(tokenCache.getPrincipal("forged")).isEmpty();
+
+        Assertions.assertThat(tokenCache.size()).isZero();
+        Assertions.assertThat(tokenCache.getMissCount()).isEqualTo(2);
+        verify(jwtGenerator, times(2)).parse("forged");
+    }
+
+    @Test
+    public void JWTTokenCache_Full_DoesNotGrowPastBound() {
+        JWTTokenCache tokenCache = new JWTTokenCache(jwtGenerator, JWTKeyRing.generated(), 1, ticker);
+        when(jwtGenerator.parse("ash")).thenReturn(Optional.of(principal(60)));
+        when(jwtGenerator.parse("misty")).thenReturn(Optional.of(principal(60)));
+
+        tokenCache.getPrincipal("ash");
+        tokenCache.getPrincipal("misty");
+
+        Assertions.assertThat(tokenCache.size()).isEqualTo(1);
+    }
+
+    private static JWTPrincipal principal(long secondsLeft) {
+        Instant now = Instant.now();
+        return new JWTPrincipal("ash", now, now.plusSeconds(secondsLeft), Collections.singletonList("USER"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.pokemonreview.api.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LoginRateLimiterTests {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    public void LoginRateLimiter_TryAcquire_RejectsBeyondCapacity() {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(3, HOUR, 100, HOUR, 100);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThat(loginRateLimiter.tryAcquire("ash", "10.0.0.1")).isZero();
+        }
+
+        Assertions.assertThat(loginRateLimiter.tryAcquire("ash", "10.0.0.1")).isPositive();
+        Assertions.assertThat(loginRateLimiter.tryAcquire("misty", "10.0.0.1")).isZero();
+        Assertions.assertThat(loginRateLimiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void LoginRateLimiter_TryAcquire_LimitsClientIpAcrossUsernames() {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(100, HOUR, 2, HOUR, 100);
+
+        Assertions.assertThat(loginRateLimiter.tryAcquire("ash", "10.0.0.1")).isZero();
+        Assertions.assertThat(loginRateLimiter.tryAcquire("misty", "10.0.0.1")).isZero();
+
+        Assertions.assertThat(loginRateLimiter.tryAcquire("brock", "10.0.0.1")).isPositive();
+        Assertions.assertThat(loginRateLimiter.tryAcquire("brock", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    public void LoginRateLimiter_EvictExpired_DropsFullBuckets() throws InterruptedException {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(1, 1, 1, 1, 100);
+        loginRateLimiter.tryAcquire("ash", "10.0.0.1");
+        Thread.sleep(10);
+
+        loginRateLimiter.evictExpired();
+
+        Assertions.assertThat(loginRateLimiter.size()).isZero();
+        Assertions.assertThat(loginRateLimiter.tryAcquire("ash", "10.0.0.1")).isZero();
+    }
+
+    // once the map is full, new usernames share one bucket instead of getting through unlimited
+    @Test
+    public void LoginRateLimiter_Full_LimitsNewKeysWithSharedBucket() {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(2, HOUR, 1000, HOUR, 1);
+        Assertions.assertThat(loginRateLimiter.tryAcquire("ash", "10.0.0.1")).isZero();
+
+        Assertions.assertThat(loginRateLimiter.tryAcquire("misty", "10.0.0.1")).isZero();
+        Assertions.assertThat(loginRateLimiter.tryAcquire("brock", "10.0.0.1")).isZero();
+        Assertions.assertThat(loginRateLimiter.tryAcquire("gary", "10.0.0.1")).isPositive();
+
+        Assertions.assertThat(loginRateLimiter.tryAcquire("ash", "10.0.0.1")).isZero();
+        Assertions.assertThat(loginRateLimiter.size()).isEqualTo(2);
+        Assertions.assertThat(loginRateLimiter.getOverflowCount()).isEqualTo(3);
+    }
+
+    // 16 threads race for the 100 tokens of one username, exactly 100 logins may get through
+    @Test
+    public void LoginRateLimiter_ConcurrentLogins_NeverExceedCapacity() throws Exception {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(100, HOUR, 1_000_000, HOUR, 1000);
+        int threads = 16;
+        int attempts = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String clientIp = "10.0.0." + t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < attempts; i++) {
+                        if (loginRateLimiter.tryAcquire("ash", clientIp) == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get();
+            }
+
+            Assertions.assertThat(allowed).isEqualTo(100);
+            Assertions.assertThat(loginRateLimiter.getAllowedCount()).isEqualTo(100);
+            Assertions.assertThat(loginRateLimiter.getRejectedCount()).isEqualTo((long) threads * attempts - 100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
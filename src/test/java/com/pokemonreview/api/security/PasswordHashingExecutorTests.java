@@ -0,0 +1,61 @@
+package com.pokemonreview.api.security;
+
+import com.pokemonreview.api.exceptions.PasswordHashingRejectedException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+public class PasswordHashingExecutorTests {
+
+    private final PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(1, 1);
+
+    @AfterEach
+    public void shutdown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    public void PasswordHashingExecutor_Submit_RunsOnHashingThread() throws Exception {
+        String threadName = passwordHashingExecutor.submit(() -> Thread.currentThread().getName()).get();
+
+        Assertions.assertThat(threadName).startsWith("password-hashing-");
+    }
+
+    @Test
+    public void PasswordHashingExecutor_Scheduler_RunsOnHashingThread() {
+        String threadName = Mono.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(passwordHashingExecutor.scheduler())
+                .block();
+
+        Assertions.assertThat(threadName).startsWith("password-hashing-");
+    }
+
+    @Test
+    public void PasswordHashingExecutor_QueueFull_RejectsRightAway() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = passwordHashingExecutor.submit(() -> awaitQuietly(release));
+        CompletableFuture<Boolean> queued = passwordHashingExecutor.submit(() -> true);
+
+        Assertions.assertThatThrownBy(() -> passwordHashingExecutor.submit(() -> true))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        Assertions.assertThat(passwordHashingExecutor.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        Assertions.assertThat(running.get()).isTrue();
+        Assertions.assertThat(queued.get()).isTrue();
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
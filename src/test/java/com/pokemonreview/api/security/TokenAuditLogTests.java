@@ -0,0 +1,63 @@
+package com.pokemonreview.api.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class TokenAuditLogTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void TokenAuditLog_TokenIssued_WritesEventWithoutToken() throws Exception {
+        Path file = directory.resolve("audit.log");
+        TokenAuditLog tokenAuditLog = new TokenAuditLog(1.0, file.toString(), 1_000_000, 2, 16);
+        tokenAuditLog.start();
+
+        tokenAuditLog.tokenIssued("ash", 0, 60000, "secret.token.value");
+        tokenAuditLog.stop();
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertThat(lines).hasSize(1);
+        Assertions.assertThat(lines.get(0)).contains("user=ash").contains("fingerprint=").doesNotContain("secret.token.value");
+    }
+
+    @Test
+    public void TokenAuditLog_QueueFull_DropsAndCounts() throws Exception {
+        Path file = directory.resolve("audit.log");
+        TokenAuditLog tokenAuditLog = new TokenAuditLog(1.0, file.toString(), 1_000_000, 2, 2);
+
+        // the writer is not running yet, so nothing leaves the ring
+        for (int i = 0; i < 5; i++) {
+            tokenAuditLog.tokenIssued("ash", 0, 60000, "token" + i);
+        }
+        tokenAuditLog.start();
+        tokenAuditLog.stop();
+
+        Assertions.assertThat(tokenAuditLog.getRecordedCount()).isEqualTo(2);
+        Assertions.assertThat(tokenAuditLog.getDroppedCount()).isEqualTo(3);
+        Assertions.assertThat(Files.readAllLines(file)).hasSize(2);
+    }
+
+    @Test
+    public void TokenAuditLog_LargeFile_RollsOverAndKeepsMaxFiles() throws Exception {
+        Path file = directory.resolve("audit.log");
+        TokenAuditLog tokenAuditLog = new TokenAuditLog(1.0, file.toString(), 200, 2, 64);
+        tokenAuditLog.start();
+
+        for (int i = 0; i < 20; i++) {
+            tokenAuditLog.tokenIssued("ash", 0, 60000, "token" + i);
+        }
+        tokenAuditLog.stop();
+
+        Assertions.assertThat(file).exists();
+        Assertions.assertThat(directory.resolve("audit.log.1")).exists();
+        Assertions.assertThat(directory.resolve("audit.log.2")).exists();
+        Assertions.assertThat(directory.resolve("audit.log.3")).doesNotExist();
+    }
+}
@@ -0,0 +1,93 @@
+package com.pokemonreview.api.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsCacheTests {
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    public void init() {
+        userDetails = new User("ash", "password", Collections.singletonList(new SimpleGrantedAuthority("USER")));
+    }
+
+    @Test
+    public void UserDetailsCache_LoadUserByUsername_HitsDatabaseOnce() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(customUserDetailsService, 60000, 10);
+        when(customUserDetailsService.loadUserByUsername("ash")).thenReturn(userDetails);
+
+        userDetailsCache.loadUserByUsername("ash");
+        UserDetails cached = userDetailsCache.loadUserByUsername("ash");
+
+        Assertions.assertThat(cached).isSameAs(userDetails);
+        Assertions.assertThat(userDetailsCache.getHitCount()).isEqualTo(1);
+        Assertions.assertThat(userDetailsCache.getMissCount()).isEqualTo(1);
+        Assertions.assertThat(userDetailsCache.getHitRatio()).isEqualTo(0.5);
+        verify(customUserDetailsService, times(1)).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void UserDetailsCache_Evict_ReloadsUser() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(customUserDetailsService, 60000, 10);
+        when(customUserDetailsService.loadUserByUsername("ash")).thenReturn(userDetails);
+
+        userDetailsCache.loadUserByUsername("ash");
+        userDetailsCache.evict("ash");
+        userDetailsCache.loadUserByUsername("ash");
+
+        verify(customUserDetailsService, times(2)).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void UserDetailsCache_GetIfPresent_NeverLoadsUser() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(customUserDetailsService, 60000, 10);
+        when(customUserDetailsService.loadUserByUsername("ash")).thenReturn(userDetails);
+
+        Assertions.assertThat(userDetailsCache.getIfPresent("ash")).isEmpty();
+        userDetailsCache.loadUserByUsername("ash");
+
+        Assertions.assertThat(userDetailsCache.getIfPresent("ash")).containsSame(userDetails);
+        verify(customUserDetailsService, times(1)).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void UserDetailsCache_ExpiredEntry_ReloadsUser() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(customUserDetailsService, 0, 10);
+        when(customUserDetailsService.loadUserByUsername("ash")).thenReturn(userDetails);
+
+        userDetailsCache.loadUserByUsername("ash");
+        userDetailsCache.loadUserByUsername("ash");
+
+        verify(customUserDetailsService, times(2)).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void UserDetailsCache_Full_DoesNotGrowPastBound() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(customUserDetailsService, 60000, 1);
+        when(customUserDetailsService.loadUserByUsername("ash")).thenReturn(userDetails);
+        when(customUserDetailsService.loadUserByUsername("misty")).thenReturn(userDetails);
+
+        userDetailsCache.loadUserByUsername("ash");
+        userDetailsCache.loadUserByUsername("misty");
+
+        Assertions.assertThat(userDetailsCache.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.PokemonRankDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.service.impl.PokemonLeaderboardServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PokemonLeaderboardServiceTests {
+
+    @Mock
+    private PokemonRatingRepository pokemonRatingRepository;
+    @Mock
+    private PokemonRepository pokemonRepository;
+    @InjectMocks
+    private PokemonLeaderboardServiceImpl pokemonLeaderboardService;
+
+    @Test
+    public void PokemonLeaderboardService_RatingChanged_RanksByAverageThenCount() {
+        when(pokemonRepository.findById(1)).thenReturn(Optional.of(Pokemon.builder().id(1).name("pikachu").type("electric").build()));
+        when(pokemonRepository.findById(2)).thenReturn(Optional.of(Pokemon.builder().id(2).name("raichu").type("electric").build()));
+        when(pokemonRepository.findById(3)).thenReturn(Optional.of(Pokemon.builder().id(3).name("voltorb").type("electric").build()));
+
+        pokemonLeaderboardService.ratingChanged(1, 2, 8);
+        pokemonLeaderboardService.ratingChanged(2, 1, 5);
+        pokemonLeaderboardService.ratingChanged(3, 4, 16);
+
+        Assertions.assertThat(names(pokemonLeaderboardService.getTopRated("electric", 10)))
+                .containsExactly("raichu", "voltorb", "pikachu");
+        Assertions.assertThat(pokemonLeaderboardService.getTopRated("fire", 10)).isEmpty();
+    }
+
+    @Test
+    public void PokemonLeaderboardService_RatingChanged_MovesPokemonAndAppliesLimit() {
+        when(pokemonRepository.findById(1)).thenReturn(Optional.of(Pokemon.builder().id(1).name("pikachu").type("electric").build()));
+        when(pokemonRepository.findById(2)).thenReturn(Optional.of(Pokemon.builder().id(2).name("raichu").type("electric").build()));
+
+        pokemonLeaderboardService.ratingChanged(1, 1, 3);
+        pokemonLeaderboardService.ratingChanged(2, 1, 4);
+        pokemonLeaderboardService.ratingChanged(1, 2, 8);
+
+        List<PokemonRankDto> top = pokemonLeaderboardService.getTopRated("electric", 1);
+
+        Assertions.assertThat(names(top)).containsExactly("pikachu");
+        Assertions.assertThat(top.get(0).getAverageStars()).isEqualTo(4.0);
+    }
+
+    @Test
+    public void PokemonLeaderboardService_PokemonUpdatedAndRemoved_UpdatesIndex() {
+        when(pokemonRepository.findById(1)).thenReturn(Optional.of(Pokemon.builder().id(1).name("pikachu").type("electric").build()));
+        pokemonLeaderboardService.ratingChanged(1, 1, 5);
+
+        pokemonLeaderboardService.pokemonUpdated(1, "pikachu", "normal");
+        Assertions.assertThat(pokemonLeaderboardService.getTopRated("electric", 10)).isEmpty();
+        Assertions.assertThat(names(pokemonLeaderboardService.getTopRated("normal", 10))).containsExactly("pikachu");
+
+        pokemonLeaderboardService.pokemonRemoved(1);
+        Assertions.assertThat(pokemonLeaderboardService.getTopRated("normal", 10)).isEmpty();
+    }
+
+    @Test
+    public void PokemonLeaderboardService_Reconcile_ReplacesIndex() {
+        PokemonRatingRepository.RankRow row = new PokemonRatingRepository.RankRow() {
+            public int getId() { return 7; }
+            public String getName() { return "charmander"; }
+            public String getType() { return "fire"; }
+            public long getReviewCount() { return 2; }
+            public long getStarsSum() { return 9; }
+        };
+        when(pokemonRatingRepository.findAllRanks()).thenReturn(List.of(row));
+
+        pokemonLeaderboardService.reconcile();
+
+        List<PokemonRankDto> top = pokemonLeaderboardService.getTopRated("fire", 10);
+        Assertions.assertThat(names(top)).containsExactly("charmander");
+        Assertions.assertThat(top.get(0).getAverageStars()).isEqualTo(4.5);
+    }
+
+    private List<String> names(List<PokemonRankDto> ranking) {
+        return ranking.stream().map(PokemonRankDto::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,108 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.PokemonRatingDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.PokemonRatingServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+
+// the seeds read the reviews from the database, so these tests commit their data instead of rolling it back
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(PokemonRatingServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PokemonRatingSeedTests {
+
+    @Autowired
+    private PokemonRatingServiceImpl pokemonRatingService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private PokemonRatingRepository pokemonRatingRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private PokemonLeaderboardService pokemonLeaderboardService;
+
+    private Pokemon pokemon;
+
+    // a pokemon with reviews but no rating, like the ones created before the ratings existed
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        List.of(4, 5).forEach(stars -> reviewRepository.save(Review.builder().title("title").content("content")
+                .stars(stars).pokemon(pokemon).build()));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            reviewRepository.deleteAllByPokemonId(pokemon.getId());
+            pokemonRatingRepository.deleteByPokemonId(pokemon.getId());
+        });
+        pokemonRepository.deleteById(pokemon.getId());
+    }
+
+    @Test
+    public void PokemonRatingService_FirstReviewWithoutRating_SeedsInSameTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            reviewRepository.saveAndFlush(Review.builder().title("title").content("content").stars(3).pokemon(pokemon).build());
+            pokemonRatingService.reviewAdded(pokemon.getId(), 3);
+            // the seeded row already counts the new review, its delta is not applied on top
+            Assertions.assertThat(pokemonRatingRepository.findById(pokemon.getId()))
+                    .hasValueSatisfying(rating -> Assertions.assertThat(rating.getReviewCount()).isEqualTo(3));
+        });
+
+        PokemonRatingDto rating = pokemonRatingService.getRating(pokemon.getId());
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(3);
+        Assertions.assertThat(rating.getAverageStars()).isEqualTo(4.0);
+        Assertions.assertThat(rating.getThreeStars()).isEqualTo(1);
+        Assertions.assertThat(rating.getFiveStars()).isEqualTo(1);
+    }
+
+    @Test
+    public void PokemonRatingService_LockRatingWithoutRating_SeedsBeforeBulkDelete() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            pokemonRatingService.lockRating(pokemon.getId());
+            reviewRepository.deleteAllByPokemonId(pokemon.getId());
+            pokemonRatingService.reviewsCleared(pokemon.getId());
+        });
+
+        Assertions.assertThat(pokemonRatingService.getRating(pokemon.getId()).getReviewCount()).isZero();
+        Assertions.assertThat(pokemonRatingRepository.existsById(pokemon.getId())).isTrue();
+    }
+
+    @Test
+    public void PokemonRatingService_SeedMissingRatings_BuildsRatingsFromReviews() {
+        Assertions.assertThat(pokemonRatingService.seedMissingRatings()).isEqualTo(1);
+        Assertions.assertThat(pokemonRatingService.seedMissingRatings()).isZero();
+
+        PokemonRatingDto rating = pokemonRatingService.getRating(pokemon.getId());
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(2);
+        Assertions.assertThat(rating.getFourStars()).isEqualTo(1);
+        Assertions.assertThat(rating.getFiveStars()).isEqualTo(1);
+        verify(pokemonLeaderboardService).reconcile();
+    }
+}
@@ -0,0 +1,103 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.PokemonRatingDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.PokemonRating;
+import com.pokemonreview.api.service.impl.PokemonRatingServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(PokemonRatingServiceImpl.class)
+public class PokemonRatingServiceTests {
+
+    @Autowired
+    private PokemonRatingService pokemonRatingService;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @MockBean
+    private PokemonLeaderboardService pokemonLeaderboardService;
+
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = testEntityManager.persist(Pokemon.builder().name("pikachu").type("electric").build());
+        pokemonRatingService.createRating(pokemon.getId());
+    }
+
+    @Test
+    public void PokemonRatingService_GetRating_ReturnsZerosWithoutReviews() {
+        PokemonRatingDto rating = pokemonRatingService.getRating(pokemon.getId());
+
+        Assertions.assertThat(rating.getReviewCount()).isZero();
+        Assertions.assertThat(rating.getAverageStars()).isZero();
+    }
+
+    @Test
+    public void PokemonRatingService_GetRating_UnknownPokemonThrows() {
+        Assertions.assertThatThrownBy(() -> pokemonRatingService.getRating(pokemon.getId() + 1))
+                .isInstanceOf(PokemonNotFoundException.class);
+    }
+
+    @Test
+    public void PokemonRatingService_ReviewWrites_MaintainAggregates() {
+        PokemonRating delta = new PokemonRating(pokemon.getId());
+        List.of(3, 4, 4).forEach(stars -> delta.add(stars, 1));
+        pokemonRatingService.reviewAdded(pokemon.getId(), 5);
+        pokemonRatingService.ratingsAdded(List.of(delta));
+        pokemonRatingService.reviewChanged(pokemon.getId(), 3, 1);
+        pokemonRatingService.reviewRemoved(pokemon.getId(), 4);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        PokemonRatingDto rating = pokemonRatingService.getRating(pokemon.getId());
+
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(3);
+        Assertions.assertThat(rating.getAverageStars()).isEqualTo(10 / 3.0);
+        Assertions.assertThat(rating.getOneStar()).isEqualTo(1);
+        Assertions.assertThat(rating.getThreeStars()).isZero();
+        Assertions.assertThat(rating.getFourStars()).isEqualTo(1);
+        Assertions.assertThat(rating.getFiveStars()).isEqualTo(1);
+    }
+
+    @Test
+    public void PokemonRatingService_RatingsAdded_AppliesDeltas() {
+        PokemonRating delta = new PokemonRating(pokemon.getId());
+        delta.add(2, 1);
+        delta.add(4, 1);
+        pokemonRatingService.reviewAdded(pokemon.getId(), 5);
+        pokemonRatingService.ratingsAdded(List.of(delta));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        PokemonRatingDto rating = pokemonRatingService.getRating(pokemon.getId());
+
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(3);
+        Assertions.assertThat(rating.getAverageStars()).isEqualTo(11 / 3.0);
+        Assertions.assertThat(rating.getTwoStars()).isEqualTo(1);
+    }
+
+    @Test
+    public void PokemonRatingService_DeleteRating_RemovesAggregates() {
+        pokemonRatingService.reviewAdded(pokemon.getId(), 5);
+        testEntityManager.flush();
+
+        pokemonRatingService.deleteRating(pokemon.getId());
+        testEntityManager.clear();
+
+        Assertions.assertThat(pokemonRatingService.getRating(pokemon.getId()).getReviewCount()).isZero();
+    }
+}
@@ -0,0 +1,158 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.config.CacheConfig;
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.PokemonCountCache;
+import com.pokemonreview.api.service.impl.PokemonServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {CacheConfig.class, PokemonServiceImpl.class})
+public class PokemonServiceCacheTests {
+
+    @Autowired
+    private PokemonService pokemonService;
+    @Autowired
+    private CacheManager cacheManager;
+    @MockBean
+    private PokemonRepository pokemonRepository;
+    @MockBean
+    private ReviewRepository reviewRepository;
+    @MockBean
+    private PokemonCountCache pokemonCountCache;
+    @MockBean
+    private PokemonRatingService pokemonRatingService;
+    @MockBean
+    private PokemonLeaderboardService pokemonLeaderboardService;
+
+    private Pokemon pokemon;
+    private PokemonDto pokemonDto;
+
+    @BeforeEach
+    public void init() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        pokemon = Pokemon.builder().id(1).name("pikachu").type("electric").build();
+        pokemonDto = PokemonDto.builder().id(1).name("pikachu").type("electric").build();
+    }
+
+    @Test
+    public void PokemonService_GetPokemonById_LoadsOnce() {
+        when(pokemonRepository.findDtoById(1)).thenReturn(Optional.of(pokemonDto));
+
+        pokemonService.getPokemonById(1);
+        PokemonDto cachedPokemon = pokemonService.getPokemonById(1);
+
+        Assertions.assertThat(cachedPokemon.getName()).isEqualTo("pikachu");
+        verify(pokemonRepository, times(1)).findDtoById(1);
+    }
+
+    @Test
+    public void PokemonService_UpdatePokemon_RefreshesCachedPokemon() {
+        when(pokemonRepository.findDtoById(1)).thenReturn(Optional.of(pokemonDto));
+        when(pokemonRepository.findById(1)).thenReturn(Optional.of(pokemon));
+        when(pokemonRepository.save(pokemon)).thenReturn(pokemon);
+
+        pokemonService.getPokemonById(1);
+        pokemonService.updatePokemon(PokemonDto.builder().name("raichu").type("electric").build(), 1);
+        PokemonDto cachedPokemon = pokemonService.getPokemonById(1);
+
+        Assertions.assertThat(cachedPokemon.getName()).isEqualTo("raichu");
+    }
+
+    @Test
+    public void PokemonService_UpdatePokemonInTransaction_PutsAfterCommit() {
+        when(pokemonRepository.findDtoById(1)).thenReturn(Optional.of(pokemonDto));
+        when(pokemonRepository.findById(1)).thenReturn(Optional.of(pokemon));
+        when(pokemonRepository.save(pokemon)).thenReturn(pokemon);
+        pokemonService.getPokemonById(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pokemonService.updatePokemon(PokemonDto.builder().name("raichu").type("electric").build(), 1);
+            Assertions.assertThat(pokemonService.getPokemonById(1).getName()).isEqualTo("pikachu");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertThat(pokemonService.getPokemonById(1).getName()).isEqualTo("raichu");
+    }
+
+    @Test
+    public void PokemonService_GetPokemonById_CachesSnapshot() {
+        when(pokemonRepository.findDtoById(1)).thenReturn(Optional.of(pokemonDto));
+
+        pokemonService.getPokemonById(1).setName("raichu");
+        pokemonDto.setName("raichu");
+        PokemonDto cachedPokemon = pokemonService.getPokemonById(1);
+
+        Assertions.assertThat(cachedPokemon.getName()).isEqualTo("pikachu");
+        Assertions.assertThat(cachedPokemon).isNotSameAs(pokemonService.getPokemonById(1));
+        verify(pokemonRepository, times(1)).findDtoById(1);
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemon_CachesSnapshot() {
+        when(pokemonRepository.findAllDtos(Mockito.any(Pageable.class)))
+                .thenReturn(new PageImpl<>(new ArrayList<>(List.of(pokemonDto)), PageRequest.of(0, 10), 1));
+
+        pokemonService.getAllPokemon(0, 10).getContent().get(0).setName("raichu");
+        pokemonService.getAllPokemon(0, 10).getContent().clear();
+        PokemonResponse cachedResponse = pokemonService.getAllPokemon(0, 10);
+
+        Assertions.assertThat(cachedResponse.getContent()).extracting(PokemonDto::getName).containsExactly("pikachu");
+    }
+
+    @Test
+    public void PokemonService_DeletePokemon_EvictsCachedPokemon() {
+        when(pokemonRepository.findDtoById(1)).thenReturn(Optional.of(pokemonDto));
+        when(pokemonRepository.findById(1)).thenReturn(Optional.of(pokemon));
+
+        pokemonService.getPokemonById(1);
+        pokemonService.deletePokemonId(1);
+        pokemonService.getPokemonById(1);
+
+        // one read for each getPokemonById and one entity load for the delete
+        verify(pokemonRepository, times(2)).findDtoById(1);
+        verify(pokemonRepository, times(1)).findById(1);
+    }
+
+    @Test
+    public void PokemonService_CreatePokemon_EvictsCachedPages() {
+        Page<PokemonDto> pokemons = Mockito.mock(Page.class);
+        when(pokemonRepository.findAllDtos(Mockito.any(Pageable.class))).thenReturn(pokemons);
+        when(pokemonRepository.save(Mockito.any(Pokemon.class))).thenReturn(pokemon);
+
+        pokemonService.getAllPokemon(0, 10);
+        pokemonService.getAllPokemon(0, 10);
+        pokemonService.createPokemon(PokemonDto.builder().name("pikachu").type("electric").build());
+        pokemonService.getAllPokemon(0, 10);
+
+        verify(pokemonRepository, times(2)).findAllDtos(Mockito.any(Pageable.class));
+    }
+}
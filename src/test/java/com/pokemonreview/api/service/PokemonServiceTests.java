@@ -2,19 +2,26 @@ package com.pokemonreview.api.service;
 
 import com.pokemonreview.api.dto.PokemonDto;
 import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.PokemonCountCache;
 import com.pokemonreview.api.service.impl.PokemonServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -26,6 +33,14 @@ public class PokemonServiceTests {
 
     @Mock
     private PokemonRepository pokemonRepository;
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private PokemonCountCache pokemonCountCache;
+    @Mock
+    private PokemonRatingService pokemonRatingService;
+    @Mock
+    private PokemonLeaderboardService pokemonLeaderboardService;
 
     @InjectMocks
     private PokemonServiceImpl pokemonService;
@@ -46,20 +61,78 @@ public class PokemonServiceTests {
 
     @Test
     public void PokemonService_GetAllPokemon_ReturnsResponseDto() {
-        Page<Pokemon> pokemons = Mockito.mock(Page.class);
+        Page<PokemonDto> pokemons = Mockito.mock(Page.class);
 
-        when(pokemonRepository.findAll(Mockito.any(Pageable.class))).thenReturn(pokemons);
+        when(pokemonRepository.findAllDtos(Mockito.any(Pageable.class))).thenReturn(pokemons);
 
         PokemonResponse savePokemon = pokemonService.getAllPokemon(1, 10);
 
         Assertions.assertThat(savePokemon).isNotNull();
     }
 
+    @Test
+    public void PokemonService_GetAllPokemonWithoutCount_ReturnsNoTotals() {
+        PokemonDto pokemon = PokemonDto.builder().id(1).name("pikachu").type("electric").build();
+        when(pokemonRepository.findDtoSlice(Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(pokemon), PageRequest.of(0, 10), false));
+
+        PokemonResponse pokemonResponse = pokemonService.getAllPokemon(0, 10, CountMode.NONE);
+
+        Assertions.assertThat(pokemonResponse.getContent()).hasSize(1);
+        Assertions.assertThat(pokemonResponse.isLast()).isTrue();
+        Assertions.assertThat(pokemonResponse.getTotalElements()).isNull();
+        Mockito.verify(pokemonRepository, Mockito.never()).count();
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemonApproximateCount_ReturnsCachedTotals() {
+        PokemonDto pokemon = PokemonDto.builder().id(1).name("pikachu").type("electric").build();
+        when(pokemonRepository.findDtoSlice(Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(pokemon), PageRequest.of(0, 10), true));
+        when(pokemonCountCache.get()).thenReturn(25L);
+
+        PokemonResponse pokemonResponse = pokemonService.getAllPokemon(0, 10, CountMode.APPROXIMATE);
+
+        Assertions.assertThat(pokemonResponse.getTotalElements()).isEqualTo(25L);
+        Assertions.assertThat(pokemonResponse.getTotalPages()).isEqualTo(3);
+        Assertions.assertThat(pokemonResponse.isLast()).isFalse();
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemonAfter_ReturnsNextCursor() {
+        PokemonDto pikachu = PokemonDto.builder().id(1).name("pikachu").type("electric").build();
+        PokemonDto charmander = PokemonDto.builder().id(2).name("charmander").type("fire").build();
+
+        when(pokemonRepository.findDtosAfterId(Mockito.eq(0), Mockito.any(Pageable.class)))
+                .thenReturn(Arrays.asList(pikachu, charmander));
+
+        PokemonResponse firstPage = pokemonService.getAllPokemonAfter("", 1);
+
+        Assertions.assertThat(firstPage.getContent()).hasSize(1);
+        Assertions.assertThat(firstPage.isLast()).isFalse();
+        Assertions.assertThat(firstPage.getNextCursor()).isNotNull();
+
+        when(pokemonRepository.findDtosAfterId(Mockito.eq(1), Mockito.any(Pageable.class)))
+                .thenReturn(Arrays.asList(charmander));
+
+        PokemonResponse secondPage = pokemonService.getAllPokemonAfter(firstPage.getNextCursor(), 1);
+
+        Assertions.assertThat(secondPage.getContent().get(0).getName()).isEqualTo("charmander");
+        Assertions.assertThat(secondPage.isLast()).isTrue();
+        Assertions.assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemonAfter_InvalidCursorThrows() {
+        Assertions.assertThatThrownBy(() -> pokemonService.getAllPokemonAfter("not a cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
     @Test
     public void PokemonService_FindById_ReturnPokemonDto() {
         int pokemonId = 1;
-        Pokemon pokemon = Pokemon.builder().id(1).name("pikachu").type("electric").type("this is a type").build();
-        when(pokemonRepository.findById(pokemonId)).thenReturn(Optional.ofNullable(pokemon));
+        PokemonDto pokemon = PokemonDto.builder().id(1).name("pikachu").type("electric").type("this is a type").build();
+        when(pokemonRepository.findDtoById(pokemonId)).thenReturn(Optional.ofNullable(pokemon));
 
         PokemonDto pokemonReturn = pokemonService.getPokemonById(pokemonId);
 
@@ -90,6 +163,9 @@ public class PokemonServiceTests {
         doNothing().when(pokemonRepository).delete(pokemon);
 
         assertAll(() -> pokemonService.deletePokemonId(pokemonId));
+        InOrder inOrder = Mockito.inOrder(pokemonRatingService, reviewRepository);
+        inOrder.verify(pokemonRatingService).lockRating(pokemonId);
+        inOrder.verify(reviewRepository).deleteAllByPokemonId(pokemonId);
     }
 
     // my tests cases
@@ -104,7 +180,7 @@ public class PokemonServiceTests {
         // an argument to the method
 
         PokemonResponse pokemonReturn = Mockito.mock(PokemonResponse.class);
-        Page<Pokemon> pokemons = Mockito.mock(Page.class);
+        Page<PokemonDto> pokemons = Mockito.mock(Page.class);
 
         // Mockito.any specify that the method can accept any value of the given type
         // which
@@ -112,7 +188,7 @@ public class PokemonServiceTests {
         // we are stubbing the behavior of findAll method , mocking refers to
         // creating mock object while stubbing refers to defining the behavior of
         // the mocked object.
-        when(pokemonRepository.findAll(Mockito.any(Pageable.class))).thenReturn(pokemons);
+        when(pokemonRepository.findAllDtos(Mockito.any(Pageable.class))).thenReturn(pokemons);
 
         // test the behavior of the method
         PokemonResponse savePokemon = pokemonService.getAllPokemon(1, 10);
@@ -129,13 +205,13 @@ public class PokemonServiceTests {
         // we have repo , we dont need anything
         // we have to check or test the behaviour of the method
 
-        Pokemon pokemon = Pokemon.builder().name("Pikachu")
+        PokemonDto pokemon = PokemonDto.builder().name("Pikachu")
                 .type("electric")
                 .build();
 
-        // we have to mock the behavior of the findbyId method , because service
+        // we have to mock the behavior of the findDtoById method , because service
         // will call this method so we stub the behavior of this method
-        when(pokemonRepository.findById(1)).thenReturn(Optional.ofNullable(pokemon));
+        when(pokemonRepository.findDtoById(1)).thenReturn(Optional.ofNullable(pokemon));
 
         // actually testing the method
         PokemonDto pokemonTest = pokemonService.getPokemonById(1);
@@ -0,0 +1,138 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.AuthResponseDTO;
+import com.pokemonreview.api.exceptions.InvalidRefreshTokenException;
+import com.pokemonreview.api.models.RefreshToken;
+import com.pokemonreview.api.repository.RefreshTokenRepository;
+import com.pokemonreview.api.security.CustomUserDetailsService;
+import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.service.impl.RefreshTokenServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(RefreshTokenServiceImpl.class)
+public class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @MockBean
+    private CustomUserDetailsService userDetailsService;
+    @MockBean
+    private JWTGenerator jwtGenerator;
+
+    @BeforeEach
+    public void init() {
+        when(userDetailsService.loadUserByUsername("ash"))
+                .thenReturn(new User("ash", "password", Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+        when(jwtGenerator.generateToken(ArgumentMatchers.any())).thenReturn("access token");
+    }
+
+    @Test
+    public void RefreshTokenService_CreateRefreshToken_StoresOnlyTheHash() {
+        String token = refreshTokenService.createRefreshToken("ash");
+
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        Assertions.assertThat(stored.getUsername()).isEqualTo("ash");
+        Assertions.assertThat(stored.getTokenHash()).isNotEqualTo(token);
+    }
+
+    @Test
+    public void RefreshTokenService_Refresh_RotatesTheToken() {
+        String token = refreshTokenService.createRefreshToken("ash");
+
+        AuthResponseDTO response = refreshTokenService.refresh(token);
+
+        Assertions.assertThat(response.getAccessToken()).isEqualTo("access token");
+        Assertions.assertThat(response.getRefreshToken()).isNotNull().isNotEqualTo(token);
+        // the used token is kept until it expires, both tokens belong to the family of the login
+        List<String> families = refreshTokenRepository.findAll().stream().map(RefreshToken::getFamily).collect(Collectors.toList());
+        Assertions.assertThat(families).hasSize(2).doesNotContainNull().containsOnly(families.get(0));
+        verify(userDetailsService).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void RefreshTokenService_RefreshWithUsedToken_RevokesFamily() {
+        String token = refreshTokenService.createRefreshToken("ash");
+        String otherLogin = refreshTokenService.createRefreshToken("ash");
+        String rotated = refreshTokenService.refresh(token).getRefreshToken();
+
+        Assertions.assertThatThrownBy(() -> refreshTokenService.refresh(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        Assertions.assertThatThrownBy(() -> refreshTokenService.refresh(rotated))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        Assertions.assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        Assertions.assertThat(refreshTokenService.refresh(otherLogin).getAccessToken()).isEqualTo("access token");
+    }
+
+    @Test
+    public void RefreshTokenService_RefreshOfDeletedUser_RevokesFamily() {
+        String token = refreshTokenService.createRefreshToken("misty");
+        when(userDetailsService.loadUserByUsername("misty")).thenThrow(new UsernameNotFoundException("Username not found"));
+
+        Assertions.assertThatThrownBy(() -> refreshTokenService.refresh(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        Assertions.assertThat(refreshTokenRepository.count()).isZero();
+        verify(jwtGenerator, never()).generateToken(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void RefreshTokenService_RefreshOfDisabledUser_Throws() {
+        String token = refreshTokenService.createRefreshToken("misty");
+        when(userDetailsService.loadUserByUsername("misty")).thenReturn(new User("misty", "password", false, true, true, true,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+
+        Assertions.assertThatThrownBy(() -> refreshTokenService.refresh(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(jwtGenerator, never()).generateToken(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void RefreshTokenService_Refresh_ExpiredTokenThrows() {
+        String token = refreshTokenService.createRefreshToken("ash");
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        refreshTokenRepository.saveAndFlush(stored);
+
+        Assertions.assertThatThrownBy(() -> refreshTokenService.refresh(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    public void RefreshTokenService_DeleteExpiredTokens_KeepsValidTokens() {
+        refreshTokenService.createRefreshToken("ash");
+        refreshTokenRepository.save(RefreshToken.builder().tokenHash("expired").username("ash")
+                .expiresAt(Instant.now().minusSeconds(1)).build());
+
+        refreshTokenService.deleteExpiredTokens();
+
+        Assertions.assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getTokenHash)
+                .doesNotContain("expired").hasSize(1);
+    }
+}
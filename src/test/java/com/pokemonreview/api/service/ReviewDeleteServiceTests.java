@@ -0,0 +1,106 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewDeleteJobDto;
+import com.pokemonreview.api.exceptions.DeleteJobNotFoundException;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.PokemonRating;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.PokemonRatingServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewDeleteServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({ReviewDeleteServiceImpl.class, PokemonRatingServiceImpl.class})
+@TestPropertySource(properties = "review.delete.batch-size=2")
+public class ReviewDeleteServiceTests {
+
+    // the background jobs run on the calling thread, inside the transaction of the test
+    @TestConfiguration
+    static class SyncExecutorConfig {
+        @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+        TaskExecutor applicationTaskExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @Autowired
+    private ReviewDeleteService reviewDeleteService;
+    @Autowired
+    private PokemonRatingService pokemonRatingService;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @MockBean
+    private PokemonService pokemonService;
+    @MockBean
+    private PokemonLeaderboardService pokemonLeaderboardService;
+
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = testEntityManager.persist(Pokemon.builder().name("pikachu").type("electric").build());
+        pokemonRatingService.createRating(pokemon.getId());
+        PokemonRating delta = new PokemonRating(pokemon.getId());
+        IntStream.rangeClosed(1, 5).forEach(star -> {
+            testEntityManager.persist(Review.builder().title("title").content("content")
+                    .stars(star).pokemon(pokemon).build());
+            delta.add(star, 1);
+        });
+        pokemonRatingService.ratingsAdded(List.of(delta));
+        testEntityManager.flush();
+    }
+
+    @Test
+    public void ReviewDeleteService_DeleteReviewsByPokemonId_DeletesAndClearsRating() {
+        ReviewDeleteJobDto result = reviewDeleteService.deleteReviewsByPokemonId(pokemon.getId());
+
+        Assertions.assertThat(result.getDeletedReviews()).isEqualTo(5);
+        Assertions.assertThat(result.getStatus()).isEqualTo(DeleteJobStatus.COMPLETED);
+        Assertions.assertThat(reviewRepository.countByPokemonId(pokemon.getId())).isZero();
+        Assertions.assertThat(pokemonRatingService.getRating(pokemon.getId()).getReviewCount()).isZero();
+    }
+
+    @Test
+    public void ReviewDeleteService_StartDeleteJob_DeletesInBatchesAndPokemon() {
+        ReviewDeleteJobDto started = reviewDeleteService.startDeleteJob(pokemon.getId(), true);
+
+        ReviewDeleteJobDto job = reviewDeleteService.getDeleteJob(started.getJobId());
+        Assertions.assertThat(job.getStatus()).isEqualTo(DeleteJobStatus.COMPLETED);
+        Assertions.assertThat(job.getTotalReviews()).isEqualTo(5);
+        Assertions.assertThat(job.getDeletedReviews()).isEqualTo(5);
+        Assertions.assertThat(job.isPokemonDeleted()).isTrue();
+        Assertions.assertThat(reviewRepository.countByPokemonId(pokemon.getId())).isZero();
+        Assertions.assertThat(pokemonRatingService.getRating(pokemon.getId()).getReviewCount()).isZero();
+        verify(pokemonService).deletePokemonId(pokemon.getId());
+    }
+
+    @Test
+    public void ReviewDeleteService_GetDeleteJob_UnknownJobThrows() {
+        Assertions.assertThatThrownBy(() -> reviewDeleteService.getDeleteJob("unknown"))
+                .isInstanceOf(DeleteJobNotFoundException.class);
+    }
+}
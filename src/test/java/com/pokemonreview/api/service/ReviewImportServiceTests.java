@@ -0,0 +1,106 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.config.CacheConfig;
+import com.pokemonreview.api.dto.ReviewImportDto;
+import com.pokemonreview.api.dto.ReviewImportResponse;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.PokemonRating;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.PokemonRatingServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewImportServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+// the import commits its own chunks, so these tests commit their data instead of rolling it back
+@DataJpaTest(properties = {"review.import.batch-size=2", "review.import.commit-size=4",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({CacheConfig.class, ReviewImportServiceImpl.class, PokemonRatingServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReviewImportServiceTests {
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private PokemonRatingRepository pokemonRatingRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockBean
+    private PokemonLeaderboardService pokemonLeaderboardService;
+
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        pokemonRatingRepository.save(new PokemonRating(pokemon.getId()));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            reviewRepository.deleteAllByPokemonId(pokemon.getId());
+            pokemonRatingRepository.deleteByPokemonId(pokemon.getId());
+        });
+        pokemonRepository.deleteById(pokemon.getId());
+    }
+
+    @Test
+    public void ReviewImportService_ImportReviews_CommitsChunksWithoutCachingReviews() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ReviewImportResponse response = reviewImportService.importReviews(List.of(
+                review(pokemon.getId(), 5), review(pokemon.getId(), 4), review(pokemon.getId(), 3),
+                review(pokemon.getId(), 2), review(pokemon.getId(), 1)).iterator());
+
+        Assertions.assertThat(response.getInserted()).isEqualTo(5);
+        Assertions.assertThat(reviewRepository.countByPokemonId(pokemon.getId())).isEqualTo(5);
+        Assertions.assertThat(pokemonRatingRepository.findById(pokemon.getId()).get().getReviewCount()).isEqualTo(5);
+        Assertions.assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    @Test
+    public void ReviewImportService_UnknownPokemon_KeepsCommittedChunks() {
+        List<ReviewImportDto> reviews = List.of(
+                review(pokemon.getId(), 5), review(pokemon.getId(), 4), review(pokemon.getId(), 3),
+                review(pokemon.getId(), 2), review(Integer.MAX_VALUE, 1));
+
+        Assertions.assertThatThrownBy(() -> reviewImportService.importReviews(reviews.iterator()))
+                .isInstanceOf(PokemonNotFoundException.class)
+                .hasMessageContaining("4 reviews before it were imported");
+
+        Assertions.assertThat(reviewRepository.countByPokemonId(pokemon.getId())).isEqualTo(4);
+        Assertions.assertThat(pokemonRatingRepository.findById(pokemon.getId()).get().getReviewCount()).isEqualTo(4);
+    }
+
+    private static ReviewImportDto review(int pokemonId, int stars) {
+        return ReviewImportDto.builder().pokemonId(pokemonId).title("title").content("content").stars(stars).build();
+    }
+}
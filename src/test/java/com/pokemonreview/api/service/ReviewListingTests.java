@@ -0,0 +1,124 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.ReviewServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.pokemonreview.api.service.impl.ReviewServiceImpl.MAX_LIST_SIZE;
+import static com.pokemonreview.api.service.impl.ReviewServiceImpl.MAX_PAGE_SIZE;
+
+// the caps and sort orders of the review listings on a pokemon with more reviews than the list cap
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(ReviewServiceImpl.class)
+public class ReviewListingTests {
+
+    private static final int REVIEW_COUNT = MAX_LIST_SIZE + 2 * MAX_PAGE_SIZE + 7;
+
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @MockBean
+    private PokemonRatingService pokemonRatingService;
+
+    private Pokemon pokemon;
+    private List<Review> reviews;
+
+    @BeforeEach
+    public void init() {
+        pokemon = testEntityManager.persist(Pokemon.builder().name("pikachu").type("electric").build());
+        Pokemon otherPokemon = testEntityManager.persist(Pokemon.builder().name("raichu").type("electric").build());
+        List<Review> seeded = new ArrayList<>();
+        IntStream.range(0, REVIEW_COUNT).forEach(i -> {
+            seeded.add(Review.builder().title("title " + i).content("content").stars(i * 7 % 5 + 1).pokemon(pokemon).build());
+            if (i % 10 == 0) {
+                seeded.add(Review.builder().title("other " + i).content("content").stars(5).pokemon(otherPokemon).build());
+            }
+        });
+        reviews = reviewRepository.saveAll(seeded).stream()
+                .filter(review -> review.getPokemon() == pokemon)
+                .collect(Collectors.toList());
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    public void ReviewService_GetReviewsByPokemonId_ReturnsFirstReviewsByIdUpToCap() {
+        List<ReviewDto> list = reviewService.getReviewsByPokemonId(pokemon.getId());
+
+        Assertions.assertThat(list).hasSize(MAX_LIST_SIZE);
+        Assertions.assertThat(ids(list)).isEqualTo(expectedIds(Comparator.comparingInt(Review::getId)).subList(0, MAX_LIST_SIZE));
+    }
+
+    @Test
+    public void ReviewService_GetReviewsPageOversized_CapsPageSize() {
+        ReviewResponse page = reviewService.getReviewsByPokemonId(pokemon.getId(), 1, MAX_PAGE_SIZE * 5, ReviewSort.ID);
+
+        Assertions.assertThat(page.getContent()).hasSize(MAX_PAGE_SIZE);
+        Assertions.assertThat(page.getPageSize()).isEqualTo(MAX_PAGE_SIZE);
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(REVIEW_COUNT);
+        Assertions.assertThat(page.getTotalPages()).isEqualTo((REVIEW_COUNT + MAX_PAGE_SIZE - 1) / MAX_PAGE_SIZE);
+        Assertions.assertThat(ids(page.getContent()))
+                .isEqualTo(expectedIds(Comparator.comparingInt(Review::getId)).subList(MAX_PAGE_SIZE, 2 * MAX_PAGE_SIZE));
+    }
+
+    @Test
+    public void ReviewService_GetReviewsPageByStars_SortsByStarsThenIdDescending() {
+        ReviewResponse page = reviewService.getReviewsByPokemonId(pokemon.getId(), 2, MAX_PAGE_SIZE, ReviewSort.STARS);
+
+        Assertions.assertThat(ids(page.getContent()))
+                .isEqualTo(expectedIds(starsOrder()).subList(2 * MAX_PAGE_SIZE, 3 * MAX_PAGE_SIZE));
+    }
+
+    @Test
+    public void ReviewService_GetReviewsAfterCursor_WalksEveryReviewInOrder() {
+        for (ReviewSort sort : ReviewSort.values()) {
+            List<ReviewDto> walked = new ArrayList<>();
+            String cursor = "";
+            ReviewResponse page;
+            do {
+                page = reviewService.getReviewsByPokemonIdAfter(pokemon.getId(), cursor, MAX_PAGE_SIZE * 5, sort);
+                Assertions.assertThat(page.getContent()).hasSizeLessThanOrEqualTo(MAX_PAGE_SIZE);
+                walked.addAll(page.getContent());
+                cursor = page.getNextCursor();
+            } while (!page.isLast());
+
+            Comparator<Review> order = sort == ReviewSort.STARS ? starsOrder() : Comparator.comparingInt(Review::getId);
+            Assertions.assertThat(ids(walked)).isEqualTo(expectedIds(order));
+        }
+    }
+
+    private static Comparator<Review> starsOrder() {
+        return Comparator.comparingInt(Review::getStars).thenComparingInt(Review::getId).reversed();
+    }
+
+    private List<Integer> expectedIds(Comparator<Review> order) {
+        return reviews.stream().sorted(order).map(Review::getId).collect(Collectors.toList());
+    }
+
+    private static List<Integer> ids(List<ReviewDto> reviews) {
+        return reviews.stream().map(ReviewDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,89 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.service.impl.ReviewServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+
+/*
+ * Counts the SQL statements that every review operation sends to the database. The rating aggregates are
+ * mocked, their row lock and update are on top of these counts.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(ReviewServiceImpl.class)
+public class ReviewServiceStatementCountTests {
+
+    @Autowired
+    private ReviewService reviewService;
+    @MockBean
+    private PokemonRatingService pokemonRatingService;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Pokemon pokemon;
+    private Review review;
+    private ReviewDto reviewDto;
+
+    @BeforeEach
+    public void init() {
+        pokemon = testEntityManager.persist(Pokemon.builder().name("pikachu").type("electric").build());
+        review = testEntityManager.persist(Review.builder().title("title").content("content").stars(5).pokemon(pokemon).build());
+        reviewDto = ReviewDto.builder().title("review title").content("test content").stars(4).build();
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void ReviewService_GetReviewById_RunsOneStatement() {
+        reviewService.getReviewById(review.getId(), pokemon.getId());
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void ReviewService_UpdateReview_RunsSelectAndUpdate() {
+        reviewService.updateReview(pokemon.getId(), review.getId(), reviewDto);
+        testEntityManager.flush();
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void ReviewService_DeleteReview_RunsSelectAndDelete() {
+        reviewService.deleteReview(pokemon.getId(), review.getId());
+        testEntityManager.flush();
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void ReviewService_CreateReview_DoesNotLoadPokemon() {
+        reviewService.createReview(pokemon.getId(), reviewDto);
+        testEntityManager.flush();
+
+        // exists check and insert, plus a sequence call when the pooled ids of review_seq are used up
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isBetween(2L, 3L);
+        Assertions.assertThat(statistics.getEntityStatistics(Pokemon.class.getName()).getLoadCount()).isZero();
+    }
+}
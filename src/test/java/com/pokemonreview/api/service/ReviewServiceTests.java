@@ -2,6 +2,8 @@ package com.pokemonreview.api.service;
 
 import com.pokemonreview.api.dto.PokemonDto;
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
 import com.pokemonreview.api.repository.PokemonRepository;
@@ -16,6 +18,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
 import java.util.List;
@@ -32,6 +36,8 @@ public class ReviewServiceTests {
     private ReviewRepository reviewRepository;
     @Mock
     private PokemonRepository pokemonRepository;
+    @Mock
+    private PokemonRatingService pokemonRatingService;
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -50,7 +56,8 @@ public class ReviewServiceTests {
 
     @Test
     public void ReviewService_CreateReview_ReturnsReviewDto() {
-        when(pokemonRepository.findById(pokemon.getId())).thenReturn(Optional.of(pokemon));
+        when(pokemonRepository.existsById(pokemon.getId())).thenReturn(true);
+        when(pokemonRepository.getReferenceById(pokemon.getId())).thenReturn(pokemon);
         when(reviewRepository.save(Mockito.any(Review.class))).thenReturn(review);
 
         ReviewDto savedReview = reviewService.createReview(pokemon.getId(), reviewDto);
@@ -61,13 +68,49 @@ public class ReviewServiceTests {
     @Test
     public void ReviewService_GetReviewsByPokemonId_ReturnReviewDto() {
         int reviewId = 1;
-        when(reviewRepository.findByPokemonId(reviewId)).thenReturn(Arrays.asList(review));
+        when(reviewRepository.findDtosByPokemonId(Mockito.eq(reviewId), Mockito.any(Pageable.class))).thenReturn(Arrays.asList(reviewDto));
 
         List<ReviewDto> pokemonReturn = reviewService.getReviewsByPokemonId(reviewId);
 
         Assertions.assertThat(pokemonReturn).isNotNull();
     }
 
+    @Test
+    public void ReviewService_GetReviewsByPokemonId_CapsPageSize() {
+        when(reviewRepository.findDtoPageByPokemonId(Mockito.eq(1), Mockito.any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(reviewDto), invocation.getArgument(1), 1));
+
+        ReviewResponse reviewResponse = reviewService.getReviewsByPokemonId(1, 0, 100000, ReviewSort.STARS);
+
+        Assertions.assertThat(reviewResponse.getPageSize()).isEqualTo(ReviewServiceImpl.MAX_PAGE_SIZE);
+        Assertions.assertThat(reviewResponse.getContent()).hasSize(1);
+    }
+
+    @Test
+    public void ReviewService_GetReviewsByPokemonIdAfter_ReturnsNextCursor() {
+        ReviewDto first = ReviewDto.builder().id(7).title("title").content("content").stars(5).build();
+        ReviewDto second = ReviewDto.builder().id(3).title("title").content("content").stars(4).build();
+        when(reviewRepository.findDtosByPokemonIdBeforeStars(Mockito.eq(1), Mockito.eq(Integer.MAX_VALUE),
+                Mockito.eq(Integer.MAX_VALUE), Mockito.any(Pageable.class))).thenReturn(Arrays.asList(first, second));
+        when(reviewRepository.findDtosByPokemonIdBeforeStars(Mockito.eq(1), Mockito.eq(5), Mockito.eq(7),
+                Mockito.any(Pageable.class))).thenReturn(List.of(second));
+
+        ReviewResponse firstPage = reviewService.getReviewsByPokemonIdAfter(1, "", 1, ReviewSort.STARS);
+        ReviewResponse secondPage = reviewService.getReviewsByPokemonIdAfter(1, firstPage.getNextCursor(), 1, ReviewSort.STARS);
+
+        Assertions.assertThat(firstPage.isLast()).isFalse();
+        Assertions.assertThat(firstPage.getContent()).extracting(ReviewDto::getId).containsExactly(7);
+        Assertions.assertThat(secondPage.isLast()).isTrue();
+        Assertions.assertThat(secondPage.getContent()).extracting(ReviewDto::getId).containsExactly(3);
+        Assertions.assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void ReviewService_GetReviewsByPokemonIdAfter_InvalidCursorThrows() {
+        Assertions.assertThatThrownBy(() -> reviewService.getReviewsByPokemonIdAfter(1, "not a cursor", 10, ReviewSort.ID))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
     @Test
     public void ReviewService_GetReviewById_ReturnReviewDto() {
         int reviewId = 1;
@@ -75,8 +118,7 @@ public class ReviewServiceTests {
 
         review.setPokemon(pokemon);
 
-        when(pokemonRepository.findById(pokemonId)).thenReturn(Optional.of(pokemon));
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+        when(reviewRepository.findDtoByIdAndPokemonId(reviewId, pokemonId)).thenReturn(Optional.of(reviewDto));
 
         ReviewDto reviewReturn = reviewService.getReviewById(reviewId, pokemonId);
 
@@ -91,8 +133,7 @@ public class ReviewServiceTests {
         pokemon.setReviews(Arrays.asList(review));
         review.setPokemon(pokemon);
 
-        when(pokemonRepository.findById(pokemonId)).thenReturn(Optional.of(pokemon));
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+        when(reviewRepository.findByIdAndPokemonId(reviewId, pokemonId)).thenReturn(Optional.of(review));
         when(reviewRepository.save(review)).thenReturn(review);
 
         ReviewDto updateReturn = reviewService.updateReview(pokemonId, reviewId, reviewDto);
@@ -108,8 +149,7 @@ public class ReviewServiceTests {
         pokemon.setReviews(Arrays.asList(review));
         review.setPokemon(pokemon);
 
-        when(pokemonRepository.findById(pokemonId)).thenReturn(Optional.of(pokemon));
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+        when(reviewRepository.findByIdAndPokemonId(reviewId, pokemonId)).thenReturn(Optional.of(review));
 
         assertAll(() -> reviewService.deleteReview(pokemonId, reviewId));
     }
@@ -144,7 +184,8 @@ public class ReviewServiceTests {
          * any value having a class of type Review.class
          */
 
-        when(pokemonRepository.findById(pokemonId)).thenReturn(Optional.ofNullable(pokemon));
+        when(pokemonRepository.existsById(pokemonId)).thenReturn(true);
+        when(pokemonRepository.getReferenceById(pokemonId)).thenReturn(pokemon);
         when(reviewRepository.save(Mockito.any(Review.class))).thenReturn(review);
         ReviewDto dto = reviewService.createReview(pokemonId, reviewDto);
 
@@ -155,7 +196,7 @@ public class ReviewServiceTests {
     public void ReviewService_GetReviewByPokemonId() {
         int pokemonId = 1;
 
-        when(reviewRepository.findByPokemonId(pokemonId)).thenReturn(Arrays.asList(review));
+        when(reviewRepository.findDtosByPokemonId(Mockito.eq(pokemonId), Mockito.any(Pageable.class))).thenReturn(Arrays.asList(reviewDto));
         List<ReviewDto> reviews = reviewService.getReviewsByPokemonId(pokemonId);
 
         Assertions.assertThat(reviews).isNotNull();
@@ -172,8 +213,7 @@ public class ReviewServiceTests {
     // if pokemonid and reviewid is equal then  great otherwise review is not there 
     // map review to reviewDTO and return it to the client 
 
-    when(pokemonRepository.findById(pokemonId)).thenReturn(Optional.ofNullable(pokemon));
-    when (reviewRepository.findById(reviewId)).thenReturn(Optional.ofNullable(review));
+    when(reviewRepository.findDtoByIdAndPokemonId(reviewId, pokemonId)).thenReturn(Optional.ofNullable(reviewDto));
 
     ReviewDto resultReviewDto =  reviewService.getReviewById(reviewId, pokemonId);
 
@@ -187,8 +227,7 @@ public class ReviewServiceTests {
         // we have reviewDto 
         review.setPokemon(pokemon);
 
-        when(pokemonRepository.findById(pokemonId)).thenReturn(Optional.ofNullable(pokemon));
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.ofNullable(review));
+        when(reviewRepository.findByIdAndPokemonId(reviewId, pokemonId)).thenReturn(Optional.ofNullable(review));
         when(reviewRepository.save(review)).thenReturn(review);
 
         ReviewDto resultDTOResult = reviewService.updateReview(pokemonId, reviewId, reviewDto);
@@ -201,8 +240,7 @@ public class ReviewServiceTests {
         review.setPokemon(pokemon);
         pokemon.setReviews(List.of(review));
 
-        when(pokemonRepository.findById(1)).thenReturn(Optional.ofNullable(pokemon));
-        when(reviewRepository.findById(1)).thenReturn(Optional.ofNullable(review));
+        when(reviewRepository.findByIdAndPokemonId(1, 1)).thenReturn(Optional.ofNullable(review));
         
         assertAll(() -> reviewService.deleteReview(1,1));
    }
@@ -212,8 +250,7 @@ public class ReviewServiceTests {
         review.setPokemon(pokemon);
         pokemon.setReviews(List.of(review));
 
-        when(pokemonRepository.findById(1)).thenReturn(Optional.ofNullable(pokemon));
-        when(reviewRepository.findById(1)).thenReturn(Optional.ofNullable(review));
+        when(reviewRepository.findByIdAndPokemonId(1, 1)).thenReturn(Optional.ofNullable(review));
         
        reviewService.deleteReview(1, 1);
 